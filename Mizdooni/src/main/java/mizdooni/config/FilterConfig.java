@@ -1,17 +1,56 @@
 package mizdooni.config;
 
-import mizdooni.filters.LoggerFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mizdooni.filters.AccessLog;
+import mizdooni.filters.AccessLogFilter;
+import mizdooni.filters.ReadinessFilter;
+import mizdooni.filters.SingleFlightFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class FilterConfig {
     @Bean
-    public FilterRegistrationBean<LoggerFilter> loggerFilter() {
-        FilterRegistrationBean<LoggerFilter> reg = new FilterRegistrationBean<>();
-        reg.setFilter(new LoggerFilter());
+    public AccessLog accessLog(@Value("${mizdooni.access-log.path:data/access.log}") String path,
+                               @Value("${mizdooni.access-log.sample-rate:1.0}") double sampleRate,
+                               @Value("${mizdooni.access-log.capacity:8192}") int capacity,
+                               @Value("${mizdooni.access-log.flush-interval:200ms}") Duration flushInterval) {
+        return new AccessLog(path, sampleRate, capacity, flushInterval);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLog accessLog) {
+        FilterRegistrationBean<AccessLogFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(new AccessLogFilter(accessLog));
         reg.setOrder(1);
         return reg;
     }
+
+    @Bean
+    public FilterRegistrationBean<ReadinessFilter> readinessFilter(ApplicationAvailability availability,
+                                                                   ObjectMapper mapper) {
+        FilterRegistrationBean<ReadinessFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(new ReadinessFilter(availability, mapper));
+        reg.setOrder(2);
+        return reg;
+    }
+
+    @Bean
+    public SingleFlightFilter singleFlightFilter() {
+        return new SingleFlightFilter();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SingleFlightFilter> singleFlightRegistration(SingleFlightFilter filter) {
+        FilterRegistrationBean<SingleFlightFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(filter);
+        reg.addUrlPatterns("/restaurants", "/restaurants/*", "/reviews/*", "/tables/*");
+        reg.setOrder(3);
+        return reg;
+    }
 }
@@ -1,9 +1,12 @@
 package mizdooni.config;
 
 import mizdooni.filters.AuthInterceptor;
+import mizdooni.filters.ETagInterceptor;
+import mizdooni.service.RestaurantService;
 import mizdooni.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,14 +15,18 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     UserService userService;
+    @Autowired
+    RestaurantService restaurantService;
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/**").allowedOrigins("*");
+        registry.addMapping("/**").allowedOrigins("*").exposedHeaders(UserService.SESSION_HEADER, HttpHeaders.ETAG);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(new AuthInterceptor(userService)).addPathPatterns("/**");
+        registry.addInterceptor(new ETagInterceptor(restaurantService))
+                .addPathPatterns("/restaurants/*", "/tables/*", "/reviews/*");
     }
 }
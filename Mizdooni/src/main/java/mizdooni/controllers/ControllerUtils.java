@@ -1,11 +1,19 @@
 package mizdooni.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import mizdooni.model.Restaurant;
 import mizdooni.response.ResponseException;
 import mizdooni.service.RestaurantService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 
@@ -20,6 +28,38 @@ public class ControllerUtils {
 
     static final String PLACEHOLDER_IMAGE = "/restaurant-placeholder.jpg";
 
+    static final int STREAM_FLUSH_INTERVAL = 256;
+
+    static LocalDate parseDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_BAD_TYPE);
+        }
+    }
+
+    static ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper mapper, Iterable<?> items) {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.setRootValueSeparator(null);
+                int written = 0;
+                for (Object item : items) {
+                    writer.writeValue(gen, item);
+                    gen.writeRaw('\n');
+                    if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                        gen.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     static boolean containsKeys(Map<String, ?> params, String... keys) {
         for (String key : keys) {
             if (!params.containsKey(key)) {
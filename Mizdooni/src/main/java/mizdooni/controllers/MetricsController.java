@@ -0,0 +1,35 @@
+package mizdooni.controllers;
+
+import mizdooni.database.Journal;
+import mizdooni.filters.AccessLog;
+import mizdooni.filters.SingleFlightFilter;
+import mizdooni.response.Response;
+import mizdooni.service.RestaurantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+class MetricsController {
+    @Autowired
+    private RestaurantService restaurantService;
+    @Autowired
+    private Journal journal;
+    @Autowired
+    private SingleFlightFilter singleFlightFilter;
+    @Autowired
+    private AccessLog accessLog;
+
+    @GetMapping("/metrics")
+    public Response getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("restaurantPageCache", restaurantService.getPageCacheStats());
+        metrics.put("journal", journal.stats());
+        metrics.put("singleFlight", singleFlightFilter.stats());
+        metrics.put("accessLog", accessLog.stats());
+        return Response.ok("metrics", metrics);
+    }
+}
@@ -0,0 +1,25 @@
+package mizdooni.controllers;
+
+import mizdooni.response.Response;
+import mizdooni.response.ResponseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+class ReadinessController {
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @GetMapping("/ready")
+    public Response getReadiness() {
+        ReadinessState state = availability.getReadinessState();
+        if (state != ReadinessState.ACCEPTING_TRAFFIC) {
+            throw new ResponseException(HttpStatus.SERVICE_UNAVAILABLE, "application is not ready");
+        }
+        return Response.ok("ready", state);
+    }
+}
@@ -1,14 +1,20 @@
 package mizdooni.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import mizdooni.filters.LoginRequired;
 import mizdooni.model.Reservation;
+import mizdooni.model.Restaurant;
+import mizdooni.response.AvailabilityCalendar;
 import mizdooni.response.Response;
 import mizdooni.response.ResponseException;
 import mizdooni.service.ReservationService;
 import mizdooni.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,6 +31,8 @@ public class ReservationController {
     private RestaurantService restaurantService;
     @Autowired
     private ReservationService reserveService;
+    @Autowired
+    private ObjectMapper mapper;
 
     @GetMapping("/reserves/{restaurantId}")
     public Response getReservations(@PathVariable int restaurantId,
@@ -56,6 +64,36 @@ public class ReservationController {
         }
     }
 
+    @GetMapping(value = "/reserves/{restaurantId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReservations(@PathVariable int restaurantId,
+                                                                    @RequestParam int table,
+                                                                    @RequestParam(required = false) String from,
+                                                                    @RequestParam(required = false) String to) {
+        ControllerUtils.checkRestaurant(restaurantId, restaurantService);
+        LocalDate fromDate = ControllerUtils.parseDate(from);
+        LocalDate toDate = ControllerUtils.parseDate(to);
+        try {
+            Iterable<Reservation> reservations = reserveService.getReservations(restaurantId, table, fromDate, toDate);
+            return ControllerUtils.ndjson(mapper, reservations);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
+    @GetMapping(value = "/reserves/customer/{customerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomerReservations(@PathVariable int customerId,
+                                                                            @RequestParam(required = false) String from,
+                                                                            @RequestParam(required = false) String to) {
+        LocalDate fromDate = ControllerUtils.parseDate(from);
+        LocalDate toDate = ControllerUtils.parseDate(to);
+        try {
+            Iterable<Reservation> reservations = reserveService.getCustomerReservations(customerId, fromDate, toDate);
+            return ControllerUtils.ndjson(mapper, reservations);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
     @GetMapping("/reserves/{restaurantId}/available")
     public Response getAvailableTimes(@PathVariable int restaurantId,
                                       @RequestParam int people,
@@ -76,6 +114,48 @@ public class ReservationController {
         }
     }
 
+    @GetMapping("/reserves/{restaurantId}/calendar")
+    public Response getAvailabilityCalendar(@PathVariable int restaurantId,
+                                            @RequestParam int people,
+                                            @RequestParam String from,
+                                            @RequestParam String to) {
+        ControllerUtils.checkRestaurant(restaurantId, restaurantService);
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = LocalDate.parse(from, DATE_FORMATTER);
+            toDate = LocalDate.parse(to, DATE_FORMATTER);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_BAD_TYPE);
+        }
+
+        try {
+            AvailabilityCalendar calendar = reserveService.getAvailabilityCalendar(restaurantId, people, fromDate, toDate);
+            return Response.ok("availability calendar", calendar);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
+    @GetMapping("/reserves/available")
+    public Response getAvailableRestaurants(@RequestParam String location,
+                                            @RequestParam int people,
+                                            @RequestParam String datetime) {
+        LocalDateTime localDateTime;
+        try {
+            localDateTime = LocalDateTime.parse(datetime, DATETIME_FORMATTER);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_BAD_TYPE);
+        }
+
+        try {
+            List<Restaurant> restaurants = reserveService.getAvailableRestaurants(location, people, localDateTime);
+            return Response.ok("available restaurants", restaurants);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
     @PostMapping("/reserves/{restaurantId}")
     public Response addReservation(@PathVariable int restaurantId, @RequestBody Map<String, String> params) {
         ControllerUtils.checkRestaurant(restaurantId, restaurantService);
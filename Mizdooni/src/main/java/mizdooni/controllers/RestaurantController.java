@@ -3,6 +3,7 @@ package mizdooni.controllers;
 import mizdooni.model.Address;
 import mizdooni.model.Restaurant;
 import mizdooni.model.RestaurantSearchFilter;
+import mizdooni.response.CursorPage;
 import mizdooni.response.PagedList;
 import mizdooni.response.Response;
 import mizdooni.response.ResponseException;
@@ -39,6 +40,29 @@ class RestaurantController {
         }
     }
 
+    @GetMapping(value = "/restaurants", params = "cursor")
+    public Response getRestaurantsAfter(@RequestParam String cursor, RestaurantSearchFilter filter) {
+        try {
+            CursorPage<Restaurant> restaurants = restaurantService.getRestaurantsAfter(cursor, filter);
+            return Response.ok("restaurants listed", restaurants);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
+    @GetMapping("/restaurants/search")
+    public Response searchRestaurants(@RequestParam String q, @RequestParam int page) {
+        if (!ControllerUtils.doExist(q)) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, PARAMS_MISSING);
+        }
+        try {
+            PagedList<Restaurant> restaurants = restaurantService.searchRestaurants(q, page);
+            return Response.ok("restaurants found", restaurants);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
     @GetMapping("/restaurants/manager/{managerId}")
     public Response getManagerRestaurants(@PathVariable int managerId) {
         try {
@@ -3,6 +3,7 @@ package mizdooni.controllers;
 import mizdooni.model.Rating;
 import mizdooni.model.Restaurant;
 import mizdooni.model.Review;
+import mizdooni.response.CursorPage;
 import mizdooni.response.PagedList;
 import mizdooni.response.Response;
 import mizdooni.response.ResponseException;
@@ -36,6 +37,18 @@ class ReviewController {
         }
     }
 
+    @GetMapping(value = "/reviews/{restaurantId}", params = "cursor")
+    public Response getReviewsAfter(@PathVariable int restaurantId, @RequestParam String cursor) {
+        Restaurant restaurant = ControllerUtils.checkRestaurant(restaurantId, restaurantService);
+        try {
+            CursorPage<Review> reviews = reviewService.getReviewsAfter(restaurant.getId(), cursor);
+            String message = "reviews for restaurant (" + restaurantId + "): " + restaurant.getName();
+            return Response.ok(message, reviews);
+        } catch (Exception ex) {
+            throw new ResponseException(HttpStatus.BAD_REQUEST, ex);
+        }
+    }
+
     @PostMapping("/reviews/{restaurantId}")
     public Response addReview(@PathVariable int restaurantId, @RequestBody Map<String, Object> params) {
         ControllerUtils.checkRestaurant(restaurantId, restaurantService);
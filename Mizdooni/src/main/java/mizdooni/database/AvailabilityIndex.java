@@ -0,0 +1,189 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+import mizdooni.model.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AvailabilityIndex {
+    private record Opening(String city, int hour) {
+    }
+
+    private static final Comparator<Restaurant> BY_ID = Comparator.comparingInt(Restaurant::getId);
+
+    private final Map<Opening, NavigableMap<Integer, NavigableSet<Restaurant>>> open = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Map<Opening, Map<Restaurant, Integer>>> booked =
+            new ConcurrentSkipListMap<>();
+    private final Map<Restaurant, Integer> capacities = new ConcurrentHashMap<>();
+    private final Map<Restaurant, NavigableSet<LocalDateTime>> bookedTimes = new ConcurrentHashMap<>();
+    private final Map<Restaurant, Object> restaurantLocks = new ConcurrentHashMap<>();
+    private final Map<String, Object> cityLocks = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDate> evictedBefore = new AtomicReference<>(LocalDate.MIN);
+
+    public void refresh(Restaurant restaurant) {
+        LocalDate today = LocalDate.now();
+        evictBefore(today);
+        synchronized (restaurantLocks.computeIfAbsent(restaurant, k -> new Object())) {
+            int capacity = restaurant.getTables().stream().mapToInt(Table::getSeatsNumber).max().orElse(0);
+            Integer previous = capacities.put(restaurant, capacity);
+            if (previous == null || previous != capacity) {
+                updateOpenings(restaurant, previous == null ? 0 : previous, capacity);
+            }
+            NavigableSet<LocalDateTime> times = bookedTimes.get(restaurant);
+            if (times != null) {
+                times.headSet(today.atStartOfDay()).clear();
+                for (LocalDateTime datetime : List.copyOf(times)) {
+                    updateSlot(restaurant, datetime);
+                }
+            }
+        }
+    }
+
+    private void updateOpenings(Restaurant restaurant, int previous, int capacity) {
+        synchronized (cityLocks.computeIfAbsent(cityOf(restaurant), k -> new Object())) {
+            for (int hour : openHours(restaurant)) {
+                NavigableMap<Integer, NavigableSet<Restaurant>> bySeats =
+                        open.computeIfAbsent(new Opening(cityOf(restaurant), hour), k -> new ConcurrentSkipListMap<>());
+                if (previous > 0) {
+                    NavigableSet<Restaurant> restaurants = bySeats.get(previous);
+                    restaurants.remove(restaurant);
+                    if (restaurants.isEmpty()) {
+                        bySeats.remove(previous);
+                    }
+                }
+                if (capacity > 0) {
+                    bySeats.computeIfAbsent(capacity, k -> new ConcurrentSkipListSet<>(BY_ID)).add(restaurant);
+                }
+            }
+        }
+    }
+
+    public void update(Restaurant restaurant, LocalDateTime datetime) {
+        if (datetime.getMinute() != 0 || datetime.getSecond() != 0 || datetime.getNano() != 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        evictBefore(today);
+        if (datetime.toLocalDate().isBefore(today)) {
+            return;
+        }
+        synchronized (restaurantLocks.computeIfAbsent(restaurant, k -> new Object())) {
+            updateSlot(restaurant, datetime);
+        }
+    }
+
+    private void updateSlot(Restaurant restaurant, LocalDateTime datetime) {
+        int capacity = capacities.getOrDefault(restaurant, 0);
+        int free = restaurant.getTables().stream()
+                .filter(table -> !table.isReserved(datetime))
+                .mapToInt(Table::getSeatsNumber)
+                .max().orElse(0);
+
+        Opening opening = new Opening(cityOf(restaurant), datetime.getHour());
+        if (free < capacity) {
+            booked.computeIfAbsent(datetime.toLocalDate(), k -> new ConcurrentHashMap<>())
+                    .compute(opening, (k, restaurants) -> {
+                        Map<Restaurant, Integer> updated = restaurants == null ? new ConcurrentHashMap<>() : restaurants;
+                        updated.put(restaurant, free);
+                        return updated;
+                    });
+            bookedTimes.computeIfAbsent(restaurant, k -> new ConcurrentSkipListSet<>()).add(datetime);
+            return;
+        }
+        Map<Opening, Map<Restaurant, Integer>> day = booked.get(datetime.toLocalDate());
+        if (day != null) {
+            day.computeIfPresent(opening, (k, restaurants) -> {
+                restaurants.remove(restaurant);
+                return restaurants.isEmpty() ? null : restaurants;
+            });
+        }
+        NavigableSet<LocalDateTime> times = bookedTimes.get(restaurant);
+        if (times != null) {
+            times.remove(datetime);
+        }
+    }
+
+    void evictBefore(LocalDate date) {
+        LocalDate previous = evictedBefore.get();
+        if (!previous.isBefore(date) || !evictedBefore.compareAndSet(previous, date)) {
+            return;
+        }
+        booked.headMap(date).clear();
+        for (NavigableSet<LocalDateTime> times : bookedTimes.values()) {
+            times.headSet(date.atStartOfDay()).clear();
+        }
+    }
+
+    int bookedSlots() {
+        int slots = 0;
+        for (Map<Opening, Map<Restaurant, Integer>> day : booked.values()) {
+            for (Map<Restaurant, Integer> restaurants : day.values()) {
+                slots += restaurants.size();
+            }
+        }
+        for (NavigableSet<LocalDateTime> times : bookedTimes.values()) {
+            slots += times.size();
+        }
+        return slots;
+    }
+
+    public List<Restaurant> find(String city, LocalDateTime datetime, int people) {
+        NavigableMap<Integer, NavigableSet<Restaurant>> bySeats = open.get(new Opening(city, datetime.getHour()));
+        if (bySeats == null) {
+            return List.of();
+        }
+        Map<Restaurant, Integer> restaurantsBooked = booked.getOrDefault(datetime.toLocalDate(), Map.of())
+                .getOrDefault(new Opening(city, datetime.getHour()), Map.of());
+
+        PriorityQueue<Map.Entry<Restaurant, Iterator<Restaurant>>> heads =
+                new PriorityQueue<>(Map.Entry.comparingByKey(BY_ID));
+        for (NavigableSet<Restaurant> restaurants : bySeats.tailMap(people, true).values()) {
+            Iterator<Restaurant> iterator = restaurants.iterator();
+            if (iterator.hasNext()) {
+                heads.add(Map.entry(iterator.next(), iterator));
+            }
+        }
+
+        List<Restaurant> result = new ArrayList<>();
+        while (!heads.isEmpty()) {
+            Map.Entry<Restaurant, Iterator<Restaurant>> head = heads.poll();
+            Restaurant restaurant = head.getKey();
+            if (restaurantsBooked.getOrDefault(restaurant, people) >= people &&
+                    (result.isEmpty() || result.getLast() != restaurant)) {
+                result.add(restaurant);
+            }
+            if (head.getValue().hasNext()) {
+                heads.add(Map.entry(head.getValue().next(), head.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static String cityOf(Restaurant restaurant) {
+        return restaurant.getAddress().getCity();
+    }
+
+    private static List<Integer> openHours(Restaurant restaurant) {
+        List<Integer> hours = new ArrayList<>();
+        LocalTime start = restaurant.getStartTime();
+        LocalTime end = restaurant.getEndTime();
+        for (int hour = start.getHour() + (start.getMinute() == 0 ? 0 : 1); hour <= end.getHour(); hour++) {
+            hours.add(hour);
+        }
+        return hours;
+    }
+}
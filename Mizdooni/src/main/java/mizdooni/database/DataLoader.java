@@ -5,28 +5,95 @@ import mizdooni.model.*;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public class DataLoader {
+    private static final int CHUNK_ROWS = 1024;
+
+    private record TableRow(String restaurantName, int tableNumber, int seatsNumber) {
+    }
+
+    private record ReviewRow(String restaurantName, String username, Rating rating, String comment) {
+    }
+
+    private class Lane<T> {
+        private final BiConsumer<Restaurant, List<T>> link;
+        private Map<Restaurant, List<T>> rows = new LinkedHashMap<>();
+        private int size;
+        private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+        private Lane(BiConsumer<Restaurant, List<T>> link) {
+            this.link = link;
+        }
+
+        private void add(ExecutorService executor, Restaurant restaurant, T row) {
+            rows.computeIfAbsent(restaurant, k -> new ArrayList<>()).add(row);
+            if (++size >= CHUNK_ROWS) {
+                flush(executor);
+            }
+        }
+
+        private void flush(ExecutorService executor) {
+            pending.join();
+            Map<Restaurant, List<T>> chunk = rows;
+            rows = new LinkedHashMap<>();
+            size = 0;
+            pending = CompletableFuture.runAsync(() -> chunk.forEach(link), executor);
+        }
+    }
+
     private Database db;
+    private JsonReader reader;
+    private int threads;
+    private Map<String, User> usersByName = new HashMap<>();
+    private Map<String, Restaurant> restaurantsByName = new HashMap<>();
 
     public DataLoader(Database database) {
+        this(database, "");
+    }
+
+    public DataLoader(Database database, String directory) {
+        this(database, directory, Runtime.getRuntime().availableProcessors());
+    }
+
+    public DataLoader(Database database, String directory, int threads) {
         db = database;
+        reader = new JsonReader(directory);
+        this.threads = Math.max(threads, 1);
     }
 
     public void read() {
-        readUsers();
-        readRestaurants();
-        readTables();
-        readReviews();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "seed-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            readUsers();
+            readRestaurants();
+            linkByRestaurant(executor, JsonReader.File.TABLES, this::parseTable, TableRow::restaurantName,
+                    this::linkTables);
+            linkByRestaurant(executor, JsonReader.File.REVIEWS, this::parseReview, ReviewRow::restaurantName,
+                    this::linkReviews);
+        } catch (CompletionException ex) {
+            throw new IllegalStateException("seed loading failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     private void readUsers() {
-        JsonNode usersList = JsonReader.readData(JsonReader.File.USERS);
-        if (usersList == null) {
-            return;
-        }
-
-        for (JsonNode node : usersList) {
+        reader.forEach(JsonReader.File.USERS, node -> {
             String role = node.get("role").asText();
             String country = node.get("address").get("country").asText();
             String city = node.get("address").get("city").asText();
@@ -38,18 +105,13 @@ public class DataLoader {
                     User.Role.valueOf(role)
             );
             db.users.add(user);
-        }
+            usersByName.putIfAbsent(user.getUsername(), user);
+        });
     }
 
     private void readRestaurants() {
-        JsonNode restaurantsList = JsonReader.readData(JsonReader.File.RESTAURANTS);
-        if (restaurantsList == null) {
-            return;
-        }
-
-        for (JsonNode node : restaurantsList) {
-            User manager = getUserByUsername(node.get("managerUsername").asText());
-
+        List<Restaurant> restaurants = new ArrayList<>();
+        reader.forEach(JsonReader.File.RESTAURANTS, node -> {
             LocalTime startTime = LocalTime.parse(node.get("startTime").asText());
             LocalTime endTime = LocalTime.parse(node.get("endTime").asText());
 
@@ -59,7 +121,7 @@ public class DataLoader {
 
             Restaurant restaurant = new Restaurant(
                     node.get("name").asText(),
-                    manager,
+                    getUserByUsername(node.get("managerUsername").asText()),
                     node.get("type").asText(),
                     startTime,
                     endTime,
@@ -67,52 +129,70 @@ public class DataLoader {
                     new Address(country, city, street),
                     node.get("image").asText()
             );
-            db.restaurants.add(restaurant);
-        }
+            restaurants.add(restaurant);
+            restaurantsByName.putIfAbsent(restaurant.getName(), restaurant);
+        });
+        db.addRestaurants(restaurants);
     }
 
-    private void readTables() {
-        JsonNode tablesList = JsonReader.readData(JsonReader.File.TABLES);
-        if (tablesList == null) {
-            return;
-        }
+    private TableRow parseTable(JsonNode node) {
+        int tableNumber = node.get("tableNumber").asInt();
+        int seatsNumber = node.get("seatsNumber").asInt();
+        return new TableRow(node.get("restaurantName").asText(), tableNumber, seatsNumber);
+    }
 
-        for (JsonNode node : tablesList) {
-            Restaurant restaurant = getRestaurantByName(node.get("restaurantName").asText());
+    private ReviewRow parseReview(JsonNode node) {
+        Rating rating = new Rating();
+        rating.food = node.get("foodRate").asDouble();
+        rating.service = node.get("serviceRate").asDouble();
+        rating.ambiance = node.get("ambianceRate").asDouble();
+        rating.overall = node.get("overallRate").asDouble();
 
-            int tableNumber = node.get("tableNumber").asInt();
-            int seatsNumber = node.get("seatsNumber").asInt();
-            Table table = new Table(tableNumber, restaurant.getId(), seatsNumber);
-            restaurant.addTable(table);
-        }
+        String comment = node.get("comment").asText();
+        return new ReviewRow(node.get("restaurantName").asText(), node.get("username").asText(), rating, comment);
     }
 
-    private void readReviews() {
-        JsonNode reviewsList = JsonReader.readData(JsonReader.File.REVIEWS);
-        if (reviewsList == null) {
-            return;
+    private void linkTables(Restaurant restaurant, List<TableRow> rows) {
+        for (TableRow row : rows) {
+            db.addTable(restaurant, new Table(row.tableNumber(), restaurant.getId(), row.seatsNumber()));
         }
+    }
 
-        for (JsonNode node : reviewsList) {
-            Restaurant restaurant = getRestaurantByName(node.get("restaurantName").asText());
-            User user = getUserByUsername(node.get("username").asText());
-
-            Rating rating = new Rating();
-            rating.food = node.get("foodRate").asDouble();
-            rating.service = node.get("serviceRate").asDouble();
-            rating.ambiance = node.get("ambianceRate").asDouble();
-            rating.overall = node.get("overallRate").asDouble();
+    private void linkReviews(Restaurant restaurant, List<ReviewRow> rows) {
+        List<Review> reviews = new ArrayList<>(rows.size());
+        for (ReviewRow row : rows) {
+            User user = getUserByUsername(row.username());
+            reviews.add(new Review(user, row.rating(), row.comment(), LocalDateTime.now()));
+        }
+        db.addReviews(restaurant, reviews);
+    }
 
-            String comment = node.get("comment").asText();
-            restaurant.addReview(new Review(user, rating, comment, LocalDateTime.now()));
+    private <T> void linkByRestaurant(ExecutorService executor, JsonReader.File file, Function<JsonNode, T> parse,
+                                      Function<T, String> restaurantName, BiConsumer<Restaurant, List<T>> link) {
+        List<Lane<T>> lanes = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            lanes.add(new Lane<>(link));
+        }
+        reader.forEach(file, node -> {
+            T row = parse.apply(node);
+            Restaurant restaurant = getRestaurantByName(restaurantName.apply(row));
+            if (restaurant != null) {
+                lanes.get(Math.floorMod(restaurant.getId(), threads)).add(executor, restaurant, row);
+            }
+        });
+        for (Lane<T> lane : lanes) {
+            lane.flush(executor);
+        }
+        for (Lane<T> lane : lanes) {
+            lane.pending.join();
         }
     }
 
     private User getUserByUsername(String username) {
-        return db.users.stream().filter(u -> u.getUsername().equals(username)).findFirst().orElse(null);
+        return usersByName.get(username);
     }
 
     private Restaurant getRestaurantByName(String name) {
-        return db.restaurants.stream().filter(r -> r.getName().equals(name)).findFirst().orElse(null);
+        return restaurantsByName.get(name);
     }
 }
@@ -1,20 +1,241 @@
 package mizdooni.database;
 
+import mizdooni.model.Reservation;
 import mizdooni.model.Restaurant;
+import mizdooni.model.Review;
+import mizdooni.model.Table;
 import mizdooni.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class Database {
+    private static final String DESCRIPTION_UNIT = "description";
+    public static final String MEMORY_ENGINE = "memory";
+
+    private final Logger logger = LoggerFactory.getLogger(Database.class);
+
     public List<User> users;
-    public List<Restaurant> restaurants;
+    private volatile RestaurantCatalog catalog;
+    public NavigableMap<Integer, Restaurant> restaurantsById;
+    public TextIndex restaurantTexts;
+    private final AtomicLong restaurantsVersion = new AtomicLong();
+    private final AtomicLong reviewsVersion = new AtomicLong();
+    private volatile long checkpointLsn;
+    private final String snapshotPath;
+    private final String seedDirectory;
+    private final String engine;
+    public RestaurantSortIndex restaurantsByRating;
+    public RestaurantSortIndex restaurantsByReviews;
+    public Map<Integer, Reservation> reservationsById;
+    public AvailabilityIndex availability;
+    public ReservationArchive archive;
 
     public Database() {
+        this("", "");
+    }
+
+    public Database(String snapshotPath, String seedDirectory) {
+        this(snapshotPath, seedDirectory, MEMORY_ENGINE);
+        load();
+    }
+
+    @Autowired
+    public Database(@Value("${mizdooni.snapshot.path:}") String snapshotPath,
+                    @Value("${mizdooni.seed.dir:}") String seedDirectory,
+                    @Value("${mizdooni.storage.engine:memory}") String engine) {
         users = new ArrayList<>();
-        restaurants = new ArrayList<>();
-        new DataLoader(this).read();
+        catalog = RestaurantCatalog.EMPTY;
+        restaurantsById = new ConcurrentSkipListMap<>();
+        restaurantTexts = new TextIndex();
+        restaurantsByRating = new RestaurantSortIndex(Restaurant::getAverageOverall);
+        restaurantsByReviews = new RestaurantSortIndex(r -> r.getReviews().size());
+        reservationsById = new ConcurrentHashMap<>();
+        availability = new AvailabilityIndex();
+        archive = ReservationArchive.NONE;
+        this.snapshotPath = snapshotPath;
+        this.seedDirectory = seedDirectory;
+        this.engine = engine;
+    }
+
+    public void load() {
+        if (!engine.equals(MEMORY_ENGINE)) {
+            return;
+        }
+        long start = System.nanoTime();
+        load(snapshotPath, seedDirectory);
+        logger.info("loaded " + users.size() + " users and " + catalog.restaurants().size() + " restaurants in " +
+                (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void load(String snapshotPath, String seedDirectory) {
+        if (snapshotPath.isEmpty()) {
+            new DataLoader(this, seedDirectory).read();
+            return;
+        }
+
+        Path path = Path.of(snapshotPath);
+        Snapshot snapshot = new Snapshot(this);
+        if (Files.exists(path)) {
+            try {
+                snapshot.read(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot read snapshot " + path, ex);
+            }
+            return;
+        }
+
+        new DataLoader(this, seedDirectory).read();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            snapshot.write(path);
+        } catch (IOException ex) {
+            logger.warn("cannot write snapshot " + path + ": " + ex.getMessage());
+        }
+    }
+
+    public long getCheckpointLsn() {
+        return checkpointLsn;
+    }
+
+    public void setCheckpointLsn(long checkpointLsn) {
+        this.checkpointLsn = checkpointLsn;
+    }
+
+    public RestaurantCatalog getCatalog() {
+        return catalog;
+    }
+
+    public void addRestaurant(Restaurant restaurant) {
+        addRestaurants(List.of(restaurant));
+    }
+
+    public synchronized void addRestaurants(List<Restaurant> added) {
+        for (Restaurant restaurant : added) {
+            restaurantsById.put(restaurant.getId(), restaurant);
+            restaurantTexts.put(restaurant.getId(), DESCRIPTION_UNIT, restaurant.getDescription());
+            updateRestaurantIndexes(restaurant);
+            availability.refresh(restaurant);
+        }
+        catalog = catalog.with(added);
+        restaurantsVersion.incrementAndGet();
+    }
+
+    public void restoreRestaurant(Restaurant restaurant) {
+        restoreRestaurants(List.of(restaurant));
+    }
+
+    public void restoreRestaurants(List<Restaurant> restored) {
+        addRestaurants(restored);
+        for (Restaurant restaurant : restored) {
+            for (Review review : restaurant.getReviews()) {
+                restaurantTexts.put(restaurant.getId(), review.getUser(), review.getComment());
+            }
+        }
+        reviewsVersion.incrementAndGet();
+    }
+
+    public void addTable(Restaurant restaurant, Table table) {
+        restaurant.addTable(table);
+        availability.refresh(restaurant);
+    }
+
+    public void addReview(Restaurant restaurant, Review review) {
+        synchronized (restaurant) {
+            restaurant.addReview(review);
+            restaurantTexts.put(restaurant.getId(), review.getUser(), review.getComment());
+            updateRestaurantIndexes(restaurant);
+        }
+        reviewsVersion.incrementAndGet();
+    }
+
+    public void addReviews(Restaurant restaurant, List<Review> reviews) {
+        Map<Object, String> texts = new LinkedHashMap<>();
+        synchronized (restaurant) {
+            for (Review review : reviews) {
+                restaurant.addReview(review);
+                texts.put(review.getUser(), review.getComment());
+            }
+            restaurantTexts.putAll(restaurant.getId(), texts);
+            updateRestaurantIndexes(restaurant);
+        }
+        reviewsVersion.incrementAndGet();
+    }
+
+    public boolean addReservation(Reservation reservation) {
+        if (!reservation.getTable().reserve(reservation)) {
+            return false;
+        }
+        reservation.getUser().addReservation(reservation);
+        reservationsById.put(reservation.getReservationNumber(), reservation);
+        availability.update(reservation.getRestaurant(), reservation.getDateTime());
+        return true;
+    }
+
+    public void restoreReservation(Reservation reservation) {
+        reservation.getTable().addReservation(reservation);
+        reservation.getUser().addReservation(reservation);
+        reservationsById.put(reservation.getReservationNumber(), reservation);
+        availability.update(reservation.getRestaurant(), reservation.getDateTime());
+    }
+
+    public int archiveBefore(LocalDate date) {
+        Set<Table> tables = new HashSet<>();
+        Set<User> users = new HashSet<>();
+        int archived = 0;
+        for (Reservation reservation : reservationsById.values()) {
+            if (reservation.getDateTime().toLocalDate().isBefore(date) &&
+                    reservationsById.remove(reservation.getReservationNumber(), reservation)) {
+                tables.add(reservation.getTable());
+                users.add(reservation.getUser());
+                archived++;
+            }
+        }
+        tables.forEach(table -> table.archiveBefore(date));
+        users.forEach(user -> user.archiveBefore(date));
+        availability.evictBefore(date);
+        return archived;
+    }
+
+    public boolean cancelReservation(Reservation reservation) {
+        if (!reservation.getTable().cancel(reservation)) {
+            return false;
+        }
+        availability.update(reservation.getRestaurant(), reservation.getDateTime());
+        return true;
+    }
+
+    public long getRestaurantsVersion() {
+        return restaurantsVersion.get();
+    }
+
+    public long getReviewsVersion() {
+        return reviewsVersion.get();
+    }
+
+    private void updateRestaurantIndexes(Restaurant restaurant) {
+        restaurantsByRating.update(restaurant);
+        restaurantsByReviews.update(restaurant);
     }
 }
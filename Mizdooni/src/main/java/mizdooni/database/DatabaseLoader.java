@@ -0,0 +1,26 @@
+package mizdooni.database;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DatabaseLoader {
+    @Autowired
+    private Database db;
+    @Autowired
+    private Journal journal;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        db.load();
+        journal.recover();
+    }
+}
@@ -0,0 +1,108 @@
+package mizdooni.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class GroupCommitter<P> {
+    record Pending<P>(P payload, CompletableFuture<Void> done) {
+    }
+
+    interface Commit<P> {
+        void commit(List<Pending<P>> batch, boolean stopping);
+    }
+
+    private static final int MAX_BATCH = 1024;
+
+    private final String name;
+    private final long pollNanos;
+    private final Commit<P> commit;
+    private final BlockingQueue<Pending<P>> queue = new LinkedBlockingQueue<>();
+    private final Pending<P> close = new Pending<>(null, new CompletableFuture<>());
+    private final Object sequencer = new Object();
+    private Thread writer;
+    private boolean running;
+
+    GroupCommitter(String name, long pollNanos, Commit<P> commit) {
+        this.name = name;
+        this.pollNanos = pollNanos;
+        this.commit = commit;
+    }
+
+    void start(String threadName) {
+        synchronized (sequencer) {
+            running = true;
+        }
+        writer = new Thread(this::run, threadName);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    Object sequencer() {
+        return sequencer;
+    }
+
+    Pending<P> submit(P payload, Runnable admit) {
+        Pending<P> pending = new Pending<>(payload, new CompletableFuture<>());
+        synchronized (sequencer) {
+            if (!running) {
+                throw new IllegalStateException(name + " is closed");
+            }
+            admit.run();
+            queue.add(pending);
+        }
+        return pending;
+    }
+
+    List<Pending<P>> drain() {
+        List<Pending<P>> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        if (queued.remove(close)) {
+            queue.add(close);
+        }
+        return queued;
+    }
+
+    private void run() {
+        List<Pending<P>> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Pending<P> first = pollNanos == Long.MAX_VALUE ? queue.take() :
+                        queue.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException ex) {
+                stopping = true;
+            }
+            if (batch.remove(close)) {
+                stopping = true;
+            }
+            commit.commit(batch, stopping);
+            batch.clear();
+        }
+
+        IllegalStateException closed = new IllegalStateException(name + " is closed");
+        queue.drainTo(batch);
+        batch.forEach(pending -> pending.done().completeExceptionally(closed));
+    }
+
+    void close() {
+        synchronized (sequencer) {
+            running = false;
+        }
+        if (writer != null) {
+            queue.add(close);
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package mizdooni.database;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class IdBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private int[] keys;
+    private Container[] containers;
+    private boolean[] owned;
+    private int size;
+
+    public IdBitmap() {
+        keys = new int[4];
+        containers = new Container[4];
+        owned = new boolean[4];
+    }
+
+    public void add(int id) {
+        int high = id >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index >= 0) {
+            if (!owned[index]) {
+                containers[index] = containers[index].copy();
+                owned[index] = true;
+            }
+            containers[index] = containers[index].add((char) id);
+            return;
+        }
+
+        index = -index - 1;
+        grow();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(owned, index, owned, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = new ArrayContainer().add((char) id);
+        owned[index] = true;
+        size++;
+    }
+
+    private void grow() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            owned = Arrays.copyOf(owned, size * 2);
+        }
+    }
+
+    public boolean contains(int id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public IdBitmap copy() {
+        IdBitmap copy = new IdBitmap();
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.containers = Arrays.copyOf(containers, containers.length);
+        copy.owned = new boolean[containers.length];
+        copy.size = size;
+        Arrays.fill(owned, false);
+        return copy;
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return iterator(0);
+    }
+
+    public PrimitiveIterator.OfInt iterator(int from) {
+        int start = Arrays.binarySearch(keys, 0, size, from >>> 16);
+        return new PrimitiveIterator.OfInt() {
+            private int index = start >= 0 ? start : -start - 1;
+            private int next = advance(start >= 0 ? from & 0xFFFF : 0);
+
+            private int advance(int from) {
+                while (index < size) {
+                    int low = containers[index].next(from);
+                    if (low >= 0) {
+                        return keys[index] << 16 | low;
+                    }
+                    index++;
+                    from = 0;
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                int low = current & 0xFFFF;
+                next = low == 0xFFFF ? advanceContainer() : advance(low + 1);
+                return current;
+            }
+
+            private int advanceContainer() {
+                index++;
+                return advance(0);
+            }
+        };
+    }
+
+    private void append(int key, Container container) {
+        grow();
+        keys[size] = key;
+        containers[size] = container;
+        owned[size] = true;
+        size++;
+    }
+
+    private interface Container {
+        Container add(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        int next(int from);
+
+        Container copy();
+    }
+
+    private static class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(cardinality, 1)];
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result.values[result.cardinality++] = values[i];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int next(int from) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < cardinality ? values[index] : -1;
+        }
+
+        @Override
+        public Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, values.length);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static class BitmapContainer implements Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long mask = 1L << value;
+            if ((words[value >>> 6] & mask) == 0) {
+                words[value >>> 6] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (!(other instanceof BitmapContainer bitmap)) {
+                return other.and(this);
+            }
+            BitmapContainer result = new BitmapContainer();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] = words[i] & bitmap.words[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            if (result.cardinality > ARRAY_LIMIT) {
+                return result;
+            }
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(result.cardinality, 1)];
+            for (int low = result.next(0); low >= 0; low = low == 0xFFFF ? -1 : result.next(low + 1)) {
+                array.values[array.cardinality++] = (char) low;
+            }
+            return array;
+        }
+
+        @Override
+        public int next(int from) {
+            int index = from >>> 6;
+            if (index >= BITMAP_WORDS) {
+                return -1;
+            }
+            long word = words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return index * 64 + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        @Override
+        public Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, BITMAP_WORDS);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,703 @@
+package mizdooni.database;
+
+import jakarta.annotation.PreDestroy;
+import mizdooni.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static mizdooni.database.Journal.decimal;
+import static mizdooni.database.Journal.number;
+import static mizdooni.database.Journal.text;
+
+@Component
+@ConditionalOnProperty(name = "mizdooni.storage.engine", havingValue = "jdbc")
+public class JdbcStore implements Journal, ReservationArchive {
+    public record Stats(String url, long records, long batches, long commits, int cachedReservations) {
+    }
+
+    private record Change(String op, Map<String, Object> args) {
+    }
+
+    private static final LocalDateTime EPOCH = LocalDate.EPOCH.atStartOfDay();
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] TABLES = {"users", "restaurants", "restaurant_tables", "reservations", "reviews"};
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS users (username VARCHAR(255) PRIMARY KEY, password VARCHAR(255), " +
+                    "email VARCHAR(255) NOT NULL, country VARCHAR(255), city VARCHAR(255), " +
+                    "user_role VARCHAR(16) NOT NULL, seq BIGINT NOT NULL)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS users_email ON users (email)",
+            "CREATE TABLE IF NOT EXISTS restaurants (name VARCHAR(255) PRIMARY KEY, manager_username VARCHAR(255), " +
+                    "restaurant_type VARCHAR(255), start_time VARCHAR(16), end_time VARCHAR(16), " +
+                    "description VARCHAR(65535), country VARCHAR(255), city VARCHAR(255), street VARCHAR(255), " +
+                    "image VARCHAR(2048), seq BIGINT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS restaurant_tables (restaurant_name VARCHAR(255) NOT NULL, " +
+                    "table_number INTEGER NOT NULL, seats_number INTEGER NOT NULL, seq BIGINT NOT NULL, " +
+                    "PRIMARY KEY (restaurant_name, table_number))",
+            "CREATE TABLE IF NOT EXISTS reservations (reservation_number INTEGER PRIMARY KEY, " +
+                    "username VARCHAR(255) NOT NULL, restaurant_name VARCHAR(255) NOT NULL, " +
+                    "table_number INTEGER NOT NULL, reserved_at TIMESTAMP NOT NULL, cancelled INTEGER NOT NULL, " +
+                    "seq BIGINT NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS reservations_slot ON reservations (restaurant_name, table_number, reserved_at)",
+            "CREATE INDEX IF NOT EXISTS reservations_user ON reservations (username)",
+            "CREATE INDEX IF NOT EXISTS reservations_time ON reservations (reserved_at)",
+            "CREATE TABLE IF NOT EXISTS reviews (restaurant_name VARCHAR(255) NOT NULL, " +
+                    "username VARCHAR(255) NOT NULL, food DOUBLE PRECISION, service DOUBLE PRECISION, " +
+                    "ambiance DOUBLE PRECISION, overall DOUBLE PRECISION, comment_text VARCHAR(65535), " +
+                    "created_at VARCHAR(32), seq BIGINT NOT NULL, PRIMARY KEY (restaurant_name, username))"
+    );
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, country, city, user_role, seq) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESTAURANT =
+            "INSERT INTO restaurants (name, manager_username, restaurant_type, start_time, end_time, description, " +
+                    "country, city, street, image, seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TABLE =
+            "INSERT INTO restaurant_tables (restaurant_name, table_number, seats_number, seq) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION =
+            "INSERT INTO reservations (reservation_number, username, restaurant_name, table_number, reserved_at, " +
+                    "cancelled, seq) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String CANCEL_RESERVATION_SQL =
+            "UPDATE reservations SET cancelled = 1 WHERE reservation_number = ?";
+    private static final String DELETE_REVIEW = "DELETE FROM reviews WHERE restaurant_name = ? AND username = ?";
+    private static final String RESERVATION_COLUMNS =
+            "SELECT reservation_number, username, restaurant_name, table_number, reserved_at, cancelled " +
+                    "FROM reservations WHERE ";
+    private static final String ARCHIVED_RESERVATION =
+            RESERVATION_COLUMNS + "reservation_number = ? AND reserved_at < ?";
+    private static final String ARCHIVED_BY_TABLE = RESERVATION_COLUMNS +
+            "restaurant_name = ? AND table_number = ? AND reserved_at >= ? AND reserved_at < ? ORDER BY reserved_at";
+    private static final String ARCHIVED_BY_USER =
+            RESERVATION_COLUMNS + "username = ? AND reserved_at >= ? AND reserved_at < ? ORDER BY reserved_at";
+    private static final String ARCHIVED_VISIT = "SELECT 1 FROM reservations WHERE username = ? AND " +
+            "restaurant_name = ? AND cancelled = 0 AND reserved_at < ? LIMIT 1";
+    private static final String INSERT_REVIEW =
+            "INSERT INTO reviews (restaurant_name, username, food, service, ambiance, overall, comment_text, " +
+                    "created_at, seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcStore.class);
+    private final Database db;
+    private final String url;
+    private final String seedDirectory;
+    private final Map<Integer, Reservation> cache;
+    private final Map<String, User> usersByName = new ConcurrentHashMap<>();
+    private final Map<String, Restaurant> restaurantsByName = new ConcurrentHashMap<>();
+    private final GroupCommitter<Change> committer = new GroupCommitter<>("jdbc store", Long.MAX_VALUE, this::commit);
+    private final AtomicLong nextSeq = new AtomicLong(1);
+    private final LongAdder records = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final KeyedLocks locks = new KeyedLocks(256);
+
+    private Connection connection;
+    private Connection reader;
+    private volatile LocalDateTime archivedBefore = EPOCH;
+    private ScheduledExecutorService archiver;
+
+    @Autowired
+    public JdbcStore(Database db,
+                     @Value("${mizdooni.storage.url:jdbc:h2:file:./data/mizdooni}") String url,
+                     @Value("${mizdooni.seed.dir:}") String seedDirectory,
+                     @Value("${mizdooni.storage.cache-size:10000}") int cacheSize) {
+        this.db = db;
+        this.url = url;
+        this.seedDirectory = seedDirectory;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Reservation> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public void recover() {
+        try {
+            open();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("cannot open " + url, ex);
+        }
+    }
+
+    public void open() throws SQLException {
+        connection = DriverManager.getConnection(url);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            if (!isTimestamp("RESERVATIONS", "RESERVED_AT")) {
+                statement.execute("ALTER TABLE reservations ALTER COLUMN reserved_at SET DATA TYPE TIMESTAMP");
+            }
+        }
+        connection.commit();
+        reader = DriverManager.getConnection(url);
+        reader.setReadOnly(true);
+
+        long start = System.nanoTime();
+        if (isEmpty()) {
+            new DataLoader(db, seedDirectory).read();
+            importDatabase();
+        } else {
+            loadDatabase();
+        }
+        logger.info("loaded " + db.users.size() + " users and " + db.getCatalog().restaurants().size() + " restaurants from " +
+                url + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        db.archive = this;
+
+        committer.start("jdbc-store");
+        archiver = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jdbc-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleArchive();
+    }
+
+    private boolean isTimestamp(String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return !columns.next() || columns.getInt("DATA_TYPE") == Types.TIMESTAMP;
+        }
+    }
+
+    private void scheduleArchive() {
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        archiver.schedule(() -> {
+            try {
+                archiveBefore(LocalDate.now());
+            } catch (RuntimeException ex) {
+                logger.error("cannot archive reservations", ex);
+            }
+            scheduleArchive();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void archiveBefore(LocalDate date) {
+        LocalDateTime cutoff = date.atStartOfDay();
+        if (!cutoff.isAfter(archivedBefore)) {
+            return;
+        }
+        archivedBefore = cutoff;
+        int archived = db.archiveBefore(date);
+        logger.info("archived " + archived + " reservations before " + date);
+    }
+
+    @Override
+    public <T> T append(String op, Object key, Supplier<T> prepare, Function<T, Map<String, Object>> args,
+                        Consumer<T> apply) {
+        synchronized (locks.lockFor(key)) {
+            T result = prepare.get();
+            if (result == null) {
+                return null;
+            }
+            GroupCommitter.Pending<Change> pending = committer.submit(new Change(op, args.apply(result)), () -> {});
+            try {
+                pending.done().join();
+            } catch (CompletionException ex) {
+                throw new IllegalStateException("jdbc store write failed", ex.getCause());
+            }
+            apply.accept(result);
+            return result;
+        }
+    }
+
+    @Override
+    public Stats stats() {
+        int cached;
+        synchronized (cache) {
+            cached = cache.size();
+        }
+        return new Stats(url, records.sum(), batches.sum(), commits.sum(), cached);
+    }
+
+    private boolean isEmpty() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                try (ResultSet rows = statement.executeQuery("SELECT MAX(seq) FROM " + table)) {
+                    rows.next();
+                    nextSeq.accumulateAndGet(rows.getLong(1) + 1, Math::max);
+                }
+            }
+        }
+        return nextSeq.get() == 1;
+    }
+
+    private void importDatabase() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+            int rows = 0;
+            for (User user : db.users) {
+                bindUser(insert, user.getUsername(), user.getPassword(), user.getEmail(), user.getAddress(),
+                        user.getRole().name());
+                rows = addBatch(insert, rows);
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_RESTAURANT)) {
+            int rows = 0;
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                bindRestaurant(insert, restaurant.getName(),
+                        restaurant.getManager() == null ? null : restaurant.getManager().getUsername(),
+                        restaurant.getType(), restaurant.getStartTime().toString(),
+                        restaurant.getEndTime().toString(), restaurant.getDescription(), restaurant.getAddress(),
+                        restaurant.getImageLink());
+                rows = addBatch(insert, rows);
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_TABLE)) {
+            int rows = 0;
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                for (Table table : restaurant.getTables()) {
+                    bindTable(insert, restaurant.getName(), table.getTableNumber(), table.getSeatsNumber());
+                    rows = addBatch(insert, rows);
+                }
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_REVIEW)) {
+            int rows = 0;
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                for (Review review : restaurant.getReviews()) {
+                    bindReview(insert, restaurant.getName(), review.getUser().getUsername(), review.getRating(),
+                            review.getComment(), review.getDateTime().toString());
+                    rows = addBatch(insert, rows);
+                }
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_RESERVATION)) {
+            int rows = 0;
+            for (Reservation reservation : db.reservationsById.values()) {
+                bindReservation(insert, reservation.getReservationNumber(), reservation.getUser().getUsername(),
+                        reservation.getRestaurant().getName(), reservation.getTable().getTableNumber(),
+                        reservation.getDateTime());
+                insert.setInt(6, reservation.isCancelled() ? 1 : 0);
+                rows = addBatch(insert, rows);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        archivedBefore = LocalDate.now().atStartOfDay();
+        db.archiveBefore(archivedBefore.toLocalDate());
+    }
+
+    private static int addBatch(PreparedStatement statement, int rows) throws SQLException {
+        statement.addBatch();
+        if (++rows % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+        return rows;
+    }
+
+    private void loadDatabase() throws SQLException {
+        Map<String, Restaurant> restaurants = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT username, password, email, country, city, user_role FROM users ORDER BY seq")) {
+                while (rows.next()) {
+                    User user = new User(rows.getString(1), rows.getString(2), rows.getString(3),
+                            new Address(rows.getString(4), rows.getString(5), null),
+                            User.Role.valueOf(rows.getString(6)));
+                    db.users.add(user);
+                    usersByName.put(user.getUsername(), user);
+                }
+            }
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT name, manager_username, restaurant_type, start_time, end_time, description, country, " +
+                            "city, street, image FROM restaurants ORDER BY seq")) {
+                while (rows.next()) {
+                    Restaurant restaurant = new Restaurant(rows.getString(1), usersByName.get(rows.getString(2)),
+                            rows.getString(3), LocalTime.parse(rows.getString(4)), LocalTime.parse(rows.getString(5)),
+                            rows.getString(6), new Address(rows.getString(7), rows.getString(8), rows.getString(9)),
+                            rows.getString(10));
+                    restaurants.put(restaurant.getName(), restaurant);
+                }
+            }
+            db.addRestaurants(new ArrayList<>(restaurants.values()));
+            restaurantsByName.putAll(restaurants);
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT restaurant_name, table_number, seats_number FROM restaurant_tables " +
+                            "ORDER BY restaurant_name, table_number")) {
+                while (rows.next()) {
+                    Restaurant restaurant = restaurants.get(rows.getString(1));
+                    db.addTable(restaurant, new Table(rows.getInt(2), restaurant.getId(), rows.getInt(3)));
+                }
+            }
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT restaurant_name, username, food, service, ambiance, overall, comment_text, created_at " +
+                            "FROM reviews ORDER BY seq")) {
+                while (rows.next()) {
+                    Rating rating = new Rating();
+                    rating.food = rows.getDouble(3);
+                    rating.service = rows.getDouble(4);
+                    rating.ambiance = rows.getDouble(5);
+                    rating.overall = rows.getDouble(6);
+                    db.addReview(restaurants.get(rows.getString(1)), new Review(usersByName.get(rows.getString(2)),
+                            rating, rows.getString(7), LocalDateTime.parse(rows.getString(8))));
+                }
+            }
+
+            try (ResultSet rows = statement.executeQuery("SELECT MAX(reservation_number) FROM reservations")) {
+                rows.next();
+                Reservation.skipNumbers(rows.getInt(1));
+            }
+        }
+
+        archivedBefore = LocalDate.now().atStartOfDay();
+        try (PreparedStatement select = connection.prepareStatement(
+                RESERVATION_COLUMNS + "reserved_at >= ? ORDER BY seq")) {
+            select.setObject(1, archivedBefore);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    db.restoreReservation(reservation(rows));
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private Reservation reservation(ResultSet rows) throws SQLException {
+        Restaurant restaurant = restaurant(rows.getString(3));
+        Reservation reservation = new Reservation(user(rows.getString(2)), restaurant,
+                restaurant.getTable(rows.getInt(4)), rows.getObject(5, LocalDateTime.class));
+        reservation.setReservationNumber(rows.getInt(1));
+        if (rows.getInt(6) != 0) {
+            reservation.cancel();
+        }
+        return reservation;
+    }
+
+    private User user(String username) {
+        User user = usersByName.get(username);
+        if (user == null) {
+            user = db.users.stream().filter(u -> u.getUsername().equals(username)).findFirst().orElse(null);
+            if (user != null) {
+                usersByName.put(username, user);
+            }
+        }
+        return user;
+    }
+
+    private Restaurant restaurant(String name) {
+        Restaurant restaurant = restaurantsByName.get(name);
+        if (restaurant == null) {
+            restaurant = db.getCatalog().restaurants().stream().filter(r -> r.getName().equals(name)).findFirst()
+                    .orElse(null);
+            if (restaurant != null) {
+                restaurantsByName.put(name, restaurant);
+            }
+        }
+        return restaurant;
+    }
+
+    @Override
+    public Reservation get(int reservationNumber) {
+        synchronized (cache) {
+            Reservation cached = cache.get(reservationNumber);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Reservation> found = archived(ARCHIVED_RESERVATION, reservationNumber, archivedBefore);
+        return found.isEmpty() ? null : found.getFirst();
+    }
+
+    @Override
+    public List<Reservation> byTable(Restaurant restaurant, int tableNumber, LocalDate from, LocalDate to) {
+        return archived(ARCHIVED_BY_TABLE, restaurant.getName(), tableNumber, lowerBound(from), upperBound(to));
+    }
+
+    @Override
+    public List<Reservation> byUser(User user, LocalDate from, LocalDate to) {
+        return archived(ARCHIVED_BY_USER, user.getUsername(), lowerBound(from), upperBound(to));
+    }
+
+    @Override
+    public boolean hasReserved(User user, Restaurant restaurant) {
+        synchronized (reader) {
+            try (PreparedStatement select = reader.prepareStatement(ARCHIVED_VISIT)) {
+                select.setString(1, user.getUsername());
+                select.setString(2, restaurant.getName());
+                select.setObject(3, archivedBefore);
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next();
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("cannot read archived reservations", ex);
+            }
+        }
+    }
+
+    private static LocalDateTime lowerBound(LocalDate from) {
+        return from == null ? EPOCH : from.atStartOfDay();
+    }
+
+    private LocalDateTime upperBound(LocalDate to) {
+        LocalDateTime cutoff = archivedBefore;
+        if (to == null) {
+            return cutoff;
+        }
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return end.isBefore(cutoff) ? end : cutoff;
+    }
+
+    private List<Reservation> archived(String sql, Object... parameters) {
+        List<Reservation> found = new ArrayList<>();
+        synchronized (reader) {
+            try (PreparedStatement select = reader.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    select.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        found.add(cached(rows));
+                    }
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("cannot read archived reservations", ex);
+            }
+        }
+        return found;
+    }
+
+    private Reservation cached(ResultSet rows) throws SQLException {
+        int reservationNumber = rows.getInt(1);
+        synchronized (cache) {
+            Reservation reservation = cache.get(reservationNumber);
+            if (reservation == null) {
+                reservation = reservation(rows);
+                cache.put(reservationNumber, reservation);
+            }
+            return reservation;
+        }
+    }
+
+    private void commit(List<GroupCommitter.Pending<Change>> batch, boolean stopping) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+            connection.commit();
+            commits.increment();
+            records.add(batch.size());
+            batches.increment();
+            batch.forEach(pending -> pending.done().complete(null));
+        } catch (SQLException | RuntimeException ex) {
+            rollback(ex);
+            writeEach(batch);
+        }
+    }
+
+    private void writeEach(List<GroupCommitter.Pending<Change>> batch) {
+        for (GroupCommitter.Pending<Change> pending : batch) {
+            try {
+                write(List.of(pending));
+                connection.commit();
+                commits.increment();
+                records.increment();
+                pending.done().complete(null);
+            } catch (SQLException | RuntimeException ex) {
+                logger.error("jdbc store write failed", ex);
+                rollback(ex);
+                pending.done().completeExceptionally(ex);
+            }
+        }
+        batches.increment();
+    }
+
+    private void rollback(Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    private void write(List<GroupCommitter.Pending<Change>> batch) throws SQLException {
+        int start = 0;
+        while (start < batch.size()) {
+            String op = batch.get(start).payload().op();
+            int end = start;
+            while (end < batch.size() && batch.get(end).payload().op().equals(op)) {
+                end++;
+            }
+            writeSegment(op, batch.subList(start, end));
+            start = end;
+        }
+    }
+
+    private void writeSegment(String op, List<GroupCommitter.Pending<Change>> segment) throws SQLException {
+        if (op.equals(ADD_REVIEW)) {
+            writeReviews(segment);
+            return;
+        }
+        String sql = switch (op) {
+            case SIGNUP -> INSERT_USER;
+            case ADD_RESTAURANT -> INSERT_RESTAURANT;
+            case ADD_TABLE -> INSERT_TABLE;
+            case RESERVE -> INSERT_RESERVATION;
+            case CANCEL_RESERVATION -> CANCEL_RESERVATION_SQL;
+            default -> throw new IllegalArgumentException("unknown operation " + op);
+        };
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (GroupCommitter.Pending<Change> pending : segment) {
+                Map<String, Object> args = pending.payload().args();
+                switch (op) {
+                    case SIGNUP -> bindUser(statement, text(args, "username"), text(args, "password"),
+                            text(args, "email"), new Address(text(args, "country"), text(args, "city"), null),
+                            text(args, "role"));
+                    case ADD_RESTAURANT -> bindRestaurant(statement, text(args, "name"),
+                            text(args, "managerUsername"), text(args, "type"), text(args, "startTime"),
+                            text(args, "endTime"), text(args, "description"),
+                            new Address(text(args, "country"), text(args, "city"), text(args, "street")),
+                            text(args, "image"));
+                    case ADD_TABLE -> bindTable(statement, text(args, "restaurantName"),
+                            number(args, "tableNumber"), number(args, "seatsNumber"));
+                    case RESERVE -> {
+                        bindReservation(statement, number(args, "reservationNumber"), text(args, "username"),
+                                text(args, "restaurantName"), number(args, "tableNumber"),
+                                LocalDateTime.parse(text(args, "datetime")));
+                        statement.setInt(6, 0);
+                    }
+                    default -> statement.setInt(1, number(args, "reservationNumber"));
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void writeReviews(List<GroupCommitter.Pending<Change>> segment) throws SQLException {
+        Map<List<String>, Map<String, Object>> latest = new LinkedHashMap<>();
+        for (GroupCommitter.Pending<Change> pending : segment) {
+            Map<String, Object> args = pending.payload().args();
+            latest.put(List.of(text(args, "restaurantName"), text(args, "username")), args);
+        }
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_REVIEW);
+             PreparedStatement insert = connection.prepareStatement(INSERT_REVIEW)) {
+            for (Map<String, Object> args : latest.values()) {
+                delete.setString(1, text(args, "restaurantName"));
+                delete.setString(2, text(args, "username"));
+                delete.addBatch();
+
+                Rating rating = new Rating();
+                rating.food = decimal(args, "foodRate");
+                rating.service = decimal(args, "serviceRate");
+                rating.ambiance = decimal(args, "ambianceRate");
+                rating.overall = decimal(args, "overallRate");
+                bindReview(insert, text(args, "restaurantName"), text(args, "username"), rating,
+                        text(args, "comment"), text(args, "datetime"));
+                insert.addBatch();
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+
+    private void bindUser(PreparedStatement statement, String username, String password, String email,
+                          Address address, String role) throws SQLException {
+        statement.setString(1, username);
+        statement.setString(2, password);
+        statement.setString(3, email);
+        statement.setString(4, address.getCountry());
+        statement.setString(5, address.getCity());
+        statement.setString(6, role);
+        statement.setLong(7, nextSeq.getAndIncrement());
+    }
+
+    private void bindRestaurant(PreparedStatement statement, String name, String managerUsername, String type,
+                                String startTime, String endTime, String description, Address address,
+                                String image) throws SQLException {
+        statement.setString(1, name);
+        statement.setString(2, managerUsername);
+        statement.setString(3, type);
+        statement.setString(4, startTime);
+        statement.setString(5, endTime);
+        statement.setString(6, description);
+        statement.setString(7, address.getCountry());
+        statement.setString(8, address.getCity());
+        statement.setString(9, address.getStreet());
+        statement.setString(10, image);
+        statement.setLong(11, nextSeq.getAndIncrement());
+    }
+
+    private void bindTable(PreparedStatement statement, String restaurantName, int tableNumber, int seatsNumber)
+            throws SQLException {
+        statement.setString(1, restaurantName);
+        statement.setInt(2, tableNumber);
+        statement.setInt(3, seatsNumber);
+        statement.setLong(4, nextSeq.getAndIncrement());
+    }
+
+    private void bindReservation(PreparedStatement statement, int reservationNumber, String username,
+                                 String restaurantName, int tableNumber, LocalDateTime datetime) throws SQLException {
+        statement.setInt(1, reservationNumber);
+        statement.setString(2, username);
+        statement.setString(3, restaurantName);
+        statement.setInt(4, tableNumber);
+        statement.setObject(5, datetime);
+        statement.setLong(7, nextSeq.getAndIncrement());
+    }
+
+    private void bindReview(PreparedStatement statement, String restaurantName, String username, Rating rating,
+                            String comment, String datetime) throws SQLException {
+        statement.setString(1, restaurantName);
+        statement.setString(2, username);
+        statement.setDouble(3, rating.food);
+        statement.setDouble(4, rating.service);
+        statement.setDouble(5, rating.ambiance);
+        statement.setDouble(6, rating.overall);
+        statement.setString(7, comment);
+        statement.setString(8, datetime);
+        statement.setLong(9, nextSeq.getAndIncrement());
+    }
+
+    @PreDestroy
+    public void close() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        if (archiver != null) {
+            archiver.shutdownNow();
+        }
+        committer.close();
+        connection.close();
+        if (reader != null) {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package mizdooni.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface Journal {
+    String SIGNUP = "signup";
+    String ADD_RESTAURANT = "addRestaurant";
+    String ADD_TABLE = "addTable";
+    String RESERVE = "reserve";
+    String CANCEL_RESERVATION = "cancelReservation";
+    String ADD_REVIEW = "addReview";
+
+    void recover();
+
+    /**
+     * Logs a change and then applies it. Changes sharing a key run one at a time: {@code prepare} validates
+     * against the current state and builds the change without applying it (null rejects it and nothing is
+     * logged), the record is handed to the log, and only once the log has accepted it does {@code apply} make
+     * the change visible. When the log cannot take the record the change is not applied and the caller gets the
+     * error, so readers never see a change that a restart would lose. Changes with different keys are prepared
+     * and applied concurrently and share group commits.
+     */
+    <T> T append(String op, Object key, Supplier<T> prepare, Function<T, Map<String, Object>> args,
+                 Consumer<T> apply);
+
+    default void append(String op, Map<String, Object> args) {
+        append(op, args, () -> args, Function.identity(), applied -> {});
+    }
+
+    Object stats();
+
+    static Map<String, Object> args(Object... keyValues) {
+        Map<String, Object> args = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            args.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return args;
+    }
+
+    static String text(Map<String, Object> args, String key) {
+        Object value = args.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    static int number(Map<String, Object> args, String key) {
+        return ((Number) args.get(key)).intValue();
+    }
+
+    static double decimal(Map<String, Object> args, String key) {
+        return ((Number) args.get(key)).doubleValue();
+    }
+}
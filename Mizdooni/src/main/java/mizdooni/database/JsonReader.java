@@ -1,16 +1,21 @@
 package mizdooni.database;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Objects;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 public class JsonReader {
-    private static final String DATA_DIR_PATH = "src/main/java/mizdooni/database/data/";
+    private static final String CLASSPATH_DIR = "seed/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     public enum File {
         USERS("users.json"),
@@ -30,16 +35,36 @@ public class JsonReader {
         }
     }
 
-    public static JsonNode readData(File file) {
-        return readFromJson(DATA_DIR_PATH + file);
+    private final Logger logger = LoggerFactory.getLogger(JsonReader.class);
+    private final String directory;
+
+    public JsonReader(String directory) {
+        this.directory = directory;
+    }
+
+    public void forEach(File file, Consumer<JsonNode> action) {
+        try (InputStream in = open(file)) {
+            if (in == null) {
+                return;
+            }
+            try (JsonParser parser = MAPPER.createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("expected an array");
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    action.accept(parser.readValueAsTree());
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("cannot read seed file " + file + ": " + ex.getMessage());
+        }
     }
 
-    private static JsonNode readFromJson(String path) {
-        try {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(path)));
-            return new ObjectMapper().readTree(reader);
-        } catch (Exception e) {
-            return null;
+    private InputStream open(File file) throws IOException {
+        if (directory.isEmpty()) {
+            return JsonReader.class.getClassLoader().getResourceAsStream(CLASSPATH_DIR + file);
         }
+        Path path = Path.of(directory, file.toString());
+        return Files.exists(path) ? Files.newInputStream(path) : null;
     }
 }
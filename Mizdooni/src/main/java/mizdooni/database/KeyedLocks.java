@@ -0,0 +1,16 @@
+package mizdooni.database;
+
+class KeyedLocks {
+    private final Object[] stripes;
+
+    KeyedLocks(int count) {
+        stripes = new Object[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    Object lockFor(Object key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+}
@@ -0,0 +1,141 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static mizdooni.database.Journal.decimal;
+import static mizdooni.database.Journal.number;
+import static mizdooni.database.Journal.text;
+
+public class LogReplayer {
+    private Database db;
+    private final Map<String, User> usersByName = new HashMap<>();
+    private final Map<String, Restaurant> restaurantsByName = new HashMap<>();
+    private final List<Restaurant> pendingRestaurants = new ArrayList<>();
+
+    public LogReplayer(Database database) {
+        db = database;
+        for (User user : db.users) {
+            usersByName.putIfAbsent(user.getUsername(), user);
+        }
+        for (Restaurant restaurant : db.getCatalog().restaurants()) {
+            restaurantsByName.putIfAbsent(restaurant.getName(), restaurant);
+        }
+    }
+
+    public void apply(WriteAheadLog.Entry entry) {
+        Map<String, Object> args = entry.args();
+        if (!entry.op().equals(Journal.ADD_RESTAURANT)) {
+            flush();
+        }
+        switch (entry.op()) {
+            case Journal.SIGNUP -> replaySignup(args);
+            case Journal.ADD_RESTAURANT -> replayAddRestaurant(args);
+            case Journal.ADD_TABLE -> replayAddTable(args);
+            case Journal.RESERVE -> replayReserve(args);
+            case Journal.CANCEL_RESERVATION -> replayCancelReservation(args);
+            case Journal.ADD_REVIEW -> replayAddReview(args);
+            default -> throw new IllegalArgumentException("unknown operation");
+        }
+    }
+
+    private void replaySignup(Map<String, Object> args) {
+        if (usersByName.containsKey(text(args, "username"))) {
+            return;
+        }
+        User user = new User(
+                text(args, "username"),
+                text(args, "password"),
+                text(args, "email"),
+                new Address(text(args, "country"), text(args, "city"), null),
+                User.Role.valueOf(text(args, "role"))
+        );
+        db.users.add(user);
+        usersByName.putIfAbsent(user.getUsername(), user);
+    }
+
+    private void replayAddRestaurant(Map<String, Object> args) {
+        if (restaurantsByName.containsKey(text(args, "name"))) {
+            return;
+        }
+        User manager = getUserByUsername(text(args, "managerUsername"));
+        Restaurant restaurant = new Restaurant(
+                text(args, "name"),
+                manager,
+                text(args, "type"),
+                LocalTime.parse(text(args, "startTime")),
+                LocalTime.parse(text(args, "endTime")),
+                text(args, "description"),
+                new Address(text(args, "country"), text(args, "city"), text(args, "street")),
+                text(args, "image")
+        );
+        pendingRestaurants.add(restaurant);
+        restaurantsByName.putIfAbsent(restaurant.getName(), restaurant);
+    }
+
+    public void flush() {
+        if (pendingRestaurants.isEmpty()) {
+            return;
+        }
+        db.addRestaurants(new ArrayList<>(pendingRestaurants));
+        pendingRestaurants.clear();
+    }
+
+    private void replayAddTable(Map<String, Object> args) {
+        Restaurant restaurant = getRestaurantByName(text(args, "restaurantName"));
+        if (args.containsKey("tableNumber") && restaurant.getTables().size() >= number(args, "tableNumber")) {
+            return;
+        }
+        db.addTable(restaurant, new Table(0, restaurant.getId(), number(args, "seatsNumber")));
+    }
+
+    private void replayReserve(Map<String, Object> args) {
+        if (db.reservationsById.containsKey(number(args, "reservationNumber"))) {
+            return;
+        }
+        User user = getUserByUsername(text(args, "username"));
+        Restaurant restaurant = getRestaurantByName(text(args, "restaurantName"));
+        Table table = restaurant.getTable(number(args, "tableNumber"));
+        Reservation reservation = new Reservation(user, restaurant, table, LocalDateTime.parse(text(args, "datetime")));
+        reservation.setReservationNumber(number(args, "reservationNumber"));
+        if (!db.addReservation(reservation)) {
+            throw new IllegalStateException("table is already reserved");
+        }
+    }
+
+    private void replayCancelReservation(Map<String, Object> args) {
+        Reservation reservation = db.reservationsById.get(number(args, "reservationNumber"));
+        if (reservation == null) {
+            throw new IllegalStateException("reservation not found");
+        }
+        db.cancelReservation(reservation);
+    }
+
+    private void replayAddReview(Map<String, Object> args) {
+        Restaurant restaurant = getRestaurantByName(text(args, "restaurantName"));
+        User user = getUserByUsername(text(args, "username"));
+
+        Rating rating = new Rating();
+        rating.food = decimal(args, "foodRate");
+        rating.service = decimal(args, "serviceRate");
+        rating.ambiance = decimal(args, "ambianceRate");
+        rating.overall = decimal(args, "overallRate");
+
+        Review review = new Review(user, rating, text(args, "comment"), LocalDateTime.parse(text(args, "datetime")));
+        db.addReview(restaurant, review);
+    }
+
+    private User getUserByUsername(String username) {
+        return usersByName.get(username);
+    }
+
+    private Restaurant getRestaurantByName(String name) {
+        return restaurantsByName.get(name);
+    }
+}
@@ -0,0 +1,40 @@
+package mizdooni.database;
+
+import mizdooni.model.Reservation;
+import mizdooni.model.Restaurant;
+import mizdooni.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReservationArchive {
+    ReservationArchive NONE = new ReservationArchive() {
+        @Override
+        public Reservation get(int reservationNumber) {
+            return null;
+        }
+
+        @Override
+        public List<Reservation> byTable(Restaurant restaurant, int tableNumber, LocalDate from, LocalDate to) {
+            return List.of();
+        }
+
+        @Override
+        public List<Reservation> byUser(User user, LocalDate from, LocalDate to) {
+            return List.of();
+        }
+
+        @Override
+        public boolean hasReserved(User user, Restaurant restaurant) {
+            return false;
+        }
+    };
+
+    Reservation get(int reservationNumber);
+
+    List<Reservation> byTable(Restaurant restaurant, int tableNumber, LocalDate from, LocalDate to);
+
+    List<Reservation> byUser(User user, LocalDate from, LocalDate to);
+
+    boolean hasReserved(User user, Restaurant restaurant);
+}
@@ -0,0 +1,80 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public final class RestaurantCatalog {
+    public static final RestaurantCatalog EMPTY = new RestaurantCatalog(new Slots(new Restaurant[0]), 0,
+            new IdBitmap(), new RestaurantFacetIndex(), new RestaurantNameIndex());
+
+    private static final class Slots {
+        private final Restaurant[] array;
+        private int claimed;
+
+        private Slots(Restaurant[] array) {
+            this.array = array;
+        }
+
+        private synchronized Slots claim(int from, int to) {
+            if (from == claimed && to <= array.length) {
+                claimed = to;
+                return this;
+            }
+            Slots grown = new Slots(new Restaurant[Math.max(to, array.length * 2)]);
+            System.arraycopy(array, 0, grown.array, 0, from);
+            grown.claimed = to;
+            return grown;
+        }
+    }
+
+    private final Slots slots;
+    private final List<Restaurant> restaurants;
+    private final IdBitmap ids;
+    private final RestaurantFacetIndex facets;
+    private final RestaurantNameIndex names;
+
+    private RestaurantCatalog(Slots slots, int size, IdBitmap ids, RestaurantFacetIndex facets,
+                              RestaurantNameIndex names) {
+        this.slots = slots;
+        this.restaurants = Collections.unmodifiableList(Arrays.asList(slots.array).subList(0, size));
+        this.ids = ids;
+        this.facets = facets;
+        this.names = names;
+    }
+
+    public RestaurantCatalog with(Collection<Restaurant> added) {
+        int size = restaurants.size();
+        Slots nextSlots = slots.claim(size, size + added.size());
+        IdBitmap nextIds = ids.copy();
+        RestaurantFacetIndex nextFacets = facets.copy();
+        RestaurantNameIndex nextNames = names.copy();
+        int index = size;
+        for (Restaurant restaurant : added) {
+            nextSlots.array[index++] = restaurant;
+            nextIds.add(restaurant.getId());
+            nextFacets.add(restaurant);
+            nextNames.add(restaurant);
+        }
+        return new RestaurantCatalog(nextSlots, index, nextIds, nextFacets, nextNames);
+    }
+
+    public List<Restaurant> restaurants() {
+        return restaurants;
+    }
+
+    public boolean contains(Restaurant restaurant) {
+        return ids.contains(restaurant.getId());
+    }
+
+    public RestaurantFacetIndex facets() {
+        return facets;
+    }
+
+    public RestaurantNameIndex names() {
+        return names;
+    }
+}
@@ -0,0 +1,85 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class RestaurantFacetIndex {
+    private final Map<String, IdBitmap> byType;
+    private final Map<String, IdBitmap> byCountry;
+    private final Map<String, IdBitmap> byCity;
+    private final Map<String, Set<String>> locations;
+    private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public RestaurantFacetIndex() {
+        this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    private RestaurantFacetIndex(Map<String, IdBitmap> byType, Map<String, IdBitmap> byCountry,
+                                 Map<String, IdBitmap> byCity, Map<String, Set<String>> locations) {
+        this.byType = byType;
+        this.byCountry = byCountry;
+        this.byCity = byCity;
+        this.locations = locations;
+    }
+
+    public RestaurantFacetIndex copy() {
+        return new RestaurantFacetIndex(new HashMap<>(byType), new HashMap<>(byCountry), new HashMap<>(byCity),
+                new HashMap<>(locations));
+    }
+
+    public void add(Restaurant restaurant) {
+        String country = restaurant.getAddress().getCountry();
+        String city = restaurant.getAddress().getCity();
+        addId(byType, restaurant.getType(), restaurant.getId());
+        addId(byCountry, country, restaurant.getId());
+        addId(byCity, city, restaurant.getId());
+
+        Set<String> cities = locations.get(country);
+        if (cities == null || !owned.contains(cities)) {
+            cities = cities == null ? new HashSet<>() : new HashSet<>(cities);
+            owned.add(cities);
+            locations.put(country, cities);
+        }
+        cities.add(city);
+    }
+
+    private void addId(Map<String, IdBitmap> facet, String key, int id) {
+        IdBitmap bitmap = facet.get(key);
+        if (bitmap == null || !owned.contains(bitmap)) {
+            bitmap = bitmap == null ? new IdBitmap() : bitmap.copy();
+            owned.add(bitmap);
+            facet.put(key, bitmap);
+        }
+        bitmap.add(id);
+    }
+
+    public IdBitmap select(String type, String country, String city) {
+        IdBitmap result = null;
+        result = intersect(result, byType, type);
+        result = intersect(result, byCountry, country);
+        result = intersect(result, byCity, city);
+        return result;
+    }
+
+    private static IdBitmap intersect(IdBitmap current, Map<String, IdBitmap> facet, String key) {
+        if (key == null) {
+            return current;
+        }
+        IdBitmap bitmap = facet.getOrDefault(key, new IdBitmap());
+        return current == null ? bitmap : current.and(bitmap);
+    }
+
+    public Set<String> getTypes() {
+        return Collections.unmodifiableSet(byType.keySet());
+    }
+
+    public Map<String, Set<String>> getLocations() {
+        return Collections.unmodifiableMap(locations);
+    }
+}
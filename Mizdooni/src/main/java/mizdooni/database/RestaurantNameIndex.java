@@ -0,0 +1,97 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class RestaurantNameIndex {
+    private static final int GRAM = 3;
+    private static final int SHARD_BITS = 8;
+
+    private final List<Map<Long, IdBitmap>> shards;
+    private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public RestaurantNameIndex() {
+        shards = new ArrayList<>(1 << SHARD_BITS);
+        for (int i = 0; i < 1 << SHARD_BITS; i++) {
+            Map<Long, IdBitmap> shard = new HashMap<>();
+            shards.add(shard);
+            owned.add(shard);
+        }
+    }
+
+    private RestaurantNameIndex(List<Map<Long, IdBitmap>> shards) {
+        this.shards = shards;
+    }
+
+    public RestaurantNameIndex copy() {
+        return new RestaurantNameIndex(new ArrayList<>(shards));
+    }
+
+    public void add(Restaurant restaurant) {
+        add(restaurant.getId(), restaurant.getName());
+    }
+
+    public void add(int id, String name) {
+        String normalized = normalize(name);
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            long gram = gram(normalized, i);
+            Map<Long, IdBitmap> postings = ownedShard(gram);
+            IdBitmap posting = postings.get(gram);
+            if (posting == null || !owned.contains(posting)) {
+                posting = posting == null ? new IdBitmap() : posting.copy();
+                owned.add(posting);
+                postings.put(gram, posting);
+            }
+            posting.add(id);
+        }
+    }
+
+    private Map<Long, IdBitmap> ownedShard(long gram) {
+        int index = shardOf(gram);
+        Map<Long, IdBitmap> shard = shards.get(index);
+        if (!owned.contains(shard)) {
+            shard = new HashMap<>(shard);
+            owned.add(shard);
+            shards.set(index, shard);
+        }
+        return shard;
+    }
+
+    private static int shardOf(long gram) {
+        return Long.hashCode(gram) * 0x9E3779B9 >>> Integer.SIZE - SHARD_BITS;
+    }
+
+    public IdBitmap candidates(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < GRAM) {
+            return null;
+        }
+
+        IdBitmap result = null;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            long gram = gram(normalized, i);
+            IdBitmap posting = shards.get(shardOf(gram)).get(gram);
+            if (posting == null) {
+                return new IdBitmap();
+            }
+            result = result == null ? posting : result.and(posting);
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,112 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToDoubleFunction;
+
+public class RestaurantSortIndex {
+    private record Entry(double key, int id, Restaurant restaurant) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::key).thenComparingInt(Entry::id);
+
+    private final ToDoubleFunction<Restaurant> keyExtractor;
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Integer, Entry> current = new ConcurrentHashMap<>();
+
+    public RestaurantSortIndex(ToDoubleFunction<Restaurant> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    public void update(Restaurant restaurant) {
+        current.compute(restaurant.getId(), (id, previous) -> {
+            Entry entry = new Entry(keyExtractor.applyAsDouble(restaurant), id, restaurant);
+            if (previous != null) {
+                if (ORDER.compare(previous, entry) == 0) {
+                    return previous;
+                }
+                entries.remove(previous);
+            }
+            entries.add(entry);
+            return entry;
+        });
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    public double keyOf(Restaurant restaurant) {
+        Entry entry = current.get(restaurant.getId());
+        return entry == null ? keyExtractor.applyAsDouble(restaurant) : entry.key();
+    }
+
+    public Iterator<Restaurant> iterator(boolean ascending) {
+        return iterator(ascending, null);
+    }
+
+    public Iterator<Restaurant> iterator(boolean ascending, double afterKey, int afterId) {
+        return iterator(ascending, new Entry(afterKey, afterId, null));
+    }
+
+    private Iterator<Restaurant> iterator(boolean ascending, Entry after) {
+        if (ascending) {
+            Iterator<Entry> it = after == null ? entries.iterator() : entries.tailSet(after, false).iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Restaurant next() {
+                    return it.next().restaurant();
+                }
+            };
+        }
+        return new DescendingIterator(after);
+    }
+
+    private class DescendingIterator implements Iterator<Restaurant> {
+        private Iterator<Entry> group;
+        private Entry nextGroup;
+
+        DescendingIterator(Entry after) {
+            if (after == null) {
+                group = Collections.emptyIterator();
+                nextGroup = entries.lower(new Entry(Double.POSITIVE_INFINITY, Integer.MAX_VALUE, null));
+            } else {
+                Entry high = new Entry(after.key(), Integer.MAX_VALUE, null);
+                group = entries.subSet(after, false, high, true).iterator();
+                nextGroup = entries.lower(new Entry(after.key(), Integer.MIN_VALUE, null));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!group.hasNext() && nextGroup != null) {
+                Entry low = new Entry(nextGroup.key(), Integer.MIN_VALUE, null);
+                Entry high = new Entry(nextGroup.key(), Integer.MAX_VALUE, null);
+                group = entries.subSet(low, true, high, true).iterator();
+                nextGroup = entries.lower(low);
+            }
+            return group.hasNext();
+        }
+
+        @Override
+        public Restaurant next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return group.next().restaurant();
+        }
+    }
+}
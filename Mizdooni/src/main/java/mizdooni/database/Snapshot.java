@@ -0,0 +1,251 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Snapshot {
+    private static final int MAGIC = 0x4D5A534E;
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Database db;
+    private long checkpointLsn;
+    private List<User> users;
+    private List<Restaurant> restaurants;
+
+    public Snapshot(Database database) {
+        db = database;
+    }
+
+    public Snapshot capture(long checkpointLsn) {
+        Snapshot captured = new Snapshot(db);
+        captured.checkpointLsn = checkpointLsn;
+        captured.users = List.copyOf(db.users);
+        captured.restaurants = db.getCatalog().restaurants();
+        return captured;
+    }
+
+    public void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(Channels.newOutputStream(file));
+            file.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void read(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            read(in);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        if (users == null) {
+            capture(db.getCheckpointLsn()).write(stream);
+            return;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(checkpointLsn);
+
+        Map<User, Integer> userRefs = new HashMap<>(users.size() * 2);
+        out.writeInt(users.size());
+        for (User user : users) {
+            userRefs.put(user, userRefs.size());
+            writeString(out, user.getUsername());
+            writeString(out, user.getPassword());
+            writeString(out, user.getEmail());
+            writeString(out, user.getAddress().getCountry());
+            writeString(out, user.getAddress().getCity());
+            out.writeByte(user.getRole().ordinal());
+        }
+
+        Map<Restaurant, Integer> restaurantRefs = new HashMap<>(restaurants.size() * 2);
+        Map<Restaurant, Integer> tableCounts = new HashMap<>(restaurants.size() * 2);
+        out.writeInt(restaurants.size());
+        for (Restaurant restaurant : restaurants) {
+            restaurantRefs.put(restaurant, restaurantRefs.size());
+            out.writeInt(userRefs.getOrDefault(restaurant.getManager(), -1));
+            writeString(out, restaurant.getName());
+            writeString(out, restaurant.getType());
+            out.writeLong(restaurant.getStartTime().toNanoOfDay());
+            out.writeLong(restaurant.getEndTime().toNanoOfDay());
+            writeString(out, restaurant.getDescription());
+            writeString(out, restaurant.getAddress().getCountry());
+            writeString(out, restaurant.getAddress().getCity());
+            writeString(out, restaurant.getAddress().getStreet());
+            writeString(out, restaurant.getImageLink());
+
+            List<Table> tables = List.copyOf(restaurant.getTables());
+            tableCounts.put(restaurant, tables.size());
+            out.writeInt(tables.size());
+            for (Table table : tables) {
+                out.writeInt(table.getSeatsNumber());
+            }
+
+            List<Review> reviews = new ArrayList<>();
+            for (Review review : restaurant.getReviews()) {
+                if (review.getUser() == null || userRefs.containsKey(review.getUser())) {
+                    reviews.add(review);
+                }
+            }
+            out.writeInt(reviews.size());
+            for (Review review : reviews) {
+                out.writeInt(userRefs.getOrDefault(review.getUser(), -1));
+                out.writeDouble(review.getRating().food);
+                out.writeDouble(review.getRating().service);
+                out.writeDouble(review.getRating().ambiance);
+                out.writeDouble(review.getRating().overall);
+                writeString(out, review.getComment());
+                writeDateTime(out, review.getDateTime());
+            }
+        }
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (Reservation reservation : db.reservationsById.values()) {
+            if (userRefs.containsKey(reservation.getUser()) &&
+                    reservation.getTable().getTableNumber() <= tableCounts.getOrDefault(reservation.getRestaurant(), 0)) {
+                reservations.add(reservation);
+            }
+        }
+        reservations.sort(Comparator.comparingInt(Reservation::getReservationNumber));
+        out.writeInt(reservations.size());
+        for (Reservation reservation : reservations) {
+            Restaurant restaurant = reservation.getRestaurant();
+            out.writeInt(reservation.getReservationNumber());
+            out.writeInt(userRefs.get(reservation.getUser()));
+            out.writeInt(restaurantRefs.get(restaurant));
+            out.writeInt(reservation.getTable().getTableNumber() - 1);
+            writeDateTime(out, reservation.getDateTime());
+            out.writeBoolean(reservation.isCancelled());
+        }
+        out.flush();
+    }
+
+    public void read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a snapshot");
+        }
+        int version = in.readInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        db.setCheckpointLsn(version == 1 ? 0 : in.readLong());
+
+        User[] users = new User[in.readInt()];
+        for (int i = 0; i < users.length; i++) {
+            String username = readString(in);
+            String password = readString(in);
+            String email = readString(in);
+            Address address = new Address(readString(in), readString(in), null);
+            users[i] = new User(username, password, email, address, User.Role.values()[in.readByte()]);
+            db.users.add(users[i]);
+        }
+
+        Restaurant[] restaurants = new Restaurant[in.readInt()];
+        for (int i = 0; i < restaurants.length; i++) {
+            User manager = userOf(users, in.readInt());
+            String name = readString(in);
+            String type = readString(in);
+            LocalTime startTime = LocalTime.ofNanoOfDay(in.readLong());
+            LocalTime endTime = LocalTime.ofNanoOfDay(in.readLong());
+            String description = readString(in);
+            Address address = new Address(readString(in), readString(in), readString(in));
+            Restaurant restaurant = new Restaurant(name, manager, type, startTime, endTime, description, address,
+                    readString(in));
+
+            int tables = in.readInt();
+            for (int j = 0; j < tables; j++) {
+                restaurant.addTable(new Table(j + 1, restaurant.getId(), in.readInt()));
+            }
+
+            int reviews = in.readInt();
+            for (int j = 0; j < reviews; j++) {
+                User user = userOf(users, in.readInt());
+                Rating rating = new Rating();
+                rating.food = in.readDouble();
+                rating.service = in.readDouble();
+                rating.ambiance = in.readDouble();
+                rating.overall = in.readDouble();
+                restaurant.addReview(new Review(user, rating, readString(in), readDateTime(in)));
+            }
+
+            restaurants[i] = restaurant;
+        }
+        db.restoreRestaurants(Arrays.asList(restaurants));
+
+        int reservations = in.readInt();
+        for (int i = 0; i < reservations; i++) {
+            int number = in.readInt();
+            User user = userOf(users, in.readInt());
+            Restaurant restaurant = restaurants[in.readInt()];
+            Table table = restaurant.getTables().get(in.readInt());
+            Reservation reservation = new Reservation(user, restaurant, table, readDateTime(in));
+            reservation.setReservationNumber(number);
+            if (in.readBoolean()) {
+                reservation.cancel();
+            }
+            db.restoreReservation(reservation);
+        }
+    }
+
+    private static User userOf(User[] users, int ref) {
+        return ref < 0 ? null : users[ref];
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime datetime) throws IOException {
+        out.writeLong(datetime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(datetime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,240 @@
+package mizdooni.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TextIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    public record Hit(int id, double score) {
+    }
+
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingInt(Hit::id);
+
+    private static class Posting {
+        private int[] positions = new int[2];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            int index = size;
+            while (index > 0 && positions[index - 1] > position) {
+                positions[index] = positions[index - 1];
+                index--;
+            }
+            positions[index] = position;
+            size++;
+        }
+
+        void remove(int position) {
+            int index = Arrays.binarySearch(positions, 0, size, position);
+            if (index >= 0) {
+                System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int position) {
+            return Arrays.binarySearch(positions, 0, size, position) >= 0;
+        }
+    }
+
+    private record Unit(int base, List<String> tokens) {
+    }
+
+    private static class Document {
+        private final Map<Object, Unit> units = new HashMap<>();
+        private int nextPosition;
+        private int length;
+    }
+
+    private final Map<String, Map<Integer, Posting>> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int id, Object unitKey, String text) {
+        putAll(id, Collections.singletonMap(unitKey, text));
+    }
+
+    public void putAll(int id, Map<Object, String> texts) {
+        Map<Object, List<String>> units = new LinkedHashMap<>();
+        for (Map.Entry<Object, String> text : texts.entrySet()) {
+            units.put(text.getKey(), tokenize(text.getValue()));
+        }
+        lock.writeLock().lock();
+        try {
+            Document document = documents.computeIfAbsent(id, k -> new Document());
+            for (Map.Entry<Object, List<String>> entry : units.entrySet()) {
+                addUnit(id, document, entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addUnit(int id, Document document, Object unitKey, List<String> tokens) {
+        Unit previous = document.units.remove(unitKey);
+        if (previous != null) {
+            removeUnit(id, document, previous);
+        }
+
+        Unit unit = new Unit(document.nextPosition, tokens);
+        for (int i = 0; i < tokens.size(); i++) {
+            postings.computeIfAbsent(tokens.get(i), k -> new HashMap<>())
+                    .computeIfAbsent(id, k -> new Posting())
+                    .add(unit.base() + i);
+        }
+        document.units.put(unitKey, unit);
+        document.nextPosition += tokens.size() + 1;
+        document.length += tokens.size();
+        totalLength += tokens.size();
+    }
+
+    private void removeUnit(int id, Document document, Unit unit) {
+        for (int i = 0; i < unit.tokens().size(); i++) {
+            String token = unit.tokens().get(i);
+            Map<Integer, Posting> termPostings = postings.get(token);
+            Posting posting = termPostings.get(id);
+            posting.remove(unit.base() + i);
+            if (posting.size == 0) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        document.length -= unit.tokens().size();
+        totalLength -= unit.tokens().size();
+    }
+
+    public Result search(String query, int limit) {
+        List<List<String>> phrases = new ArrayList<>();
+        Set<String> terms = new LinkedHashSet<>();
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = tokenize(parts[i]);
+            terms.addAll(tokens);
+            if (i % 2 == 1 && tokens.size() > 1) {
+                phrases.add(tokens);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty() || terms.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+            double averageLength = Math.max((double) totalLength / documents.size(), 1);
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Integer, Posting> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Integer, Posting> entry : termPostings.entrySet()) {
+                    int frequency = entry.getValue().size;
+                    int length = documents.get(entry.getKey()).length;
+                    double score = idf * frequency * (K1 + 1) /
+                            (frequency + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(entry.getKey(), score, Double::sum);
+                }
+            }
+
+            int total = 0;
+            PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                if (!containsPhrases(entry.getKey(), phrases)) {
+                    continue;
+                }
+                total++;
+                Hit hit = new Hit(entry.getKey(), entry.getValue());
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (limit > 0 && RANKING.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING);
+            return new Result(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean containsPhrases(int id, List<List<String>> phrases) {
+        for (List<String> phrase : phrases) {
+            if (!containsPhrase(id, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsPhrase(int id, List<String> phrase) {
+        List<Posting> phrasePostings = new ArrayList<>(phrase.size());
+        for (String term : phrase) {
+            Map<Integer, Posting> termPostings = postings.get(term);
+            Posting posting = termPostings == null ? null : termPostings.get(id);
+            if (posting == null) {
+                return false;
+            }
+            phrasePostings.add(posting);
+        }
+
+        Posting first = phrasePostings.getFirst();
+        for (int i = 0; i < first.size; i++) {
+            int start = first.positions[i];
+            boolean matched = true;
+            for (int j = 1; j < phrasePostings.size() && matched; j++) {
+                matched = phrasePostings.get(j).contains(start + j);
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,443 @@
+package mizdooni.database;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+@Component
+@ConditionalOnProperty(name = "mizdooni.storage.engine", havingValue = "memory", matchIfMissing = true)
+public class WriteAheadLog implements Journal {
+    public enum Durability {
+        SYNC,
+        ASYNC,
+        OFF,
+    }
+
+    public record Entry(long lsn, String op, Map<String, Object> args) {
+    }
+
+    public record Stats(String durability, long records, long batches, long syncs, long checkpoints) {
+    }
+
+    private record Record(String op, Map<String, Object> args) {
+    }
+
+    private static final int HEADER_BYTES = 8;
+    private static final int LSN_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 24;
+
+    private final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path path;
+    private final Durability durability;
+    private final long flushIntervalNanos;
+    private final GroupCommitter<byte[]> committer;
+    private final LongAdder records = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder checkpoints = new LongAdder();
+    private final Object applying = new Object();
+    private final KeyedLocks locks = new KeyedLocks(256);
+
+    private Database db;
+    private Path snapshotPath;
+    private long checkpointBytes = Long.MAX_VALUE;
+    private long checkpointAt = Long.MAX_VALUE;
+    private long checkpointLsn;
+    private volatile boolean checkpointRequested;
+    private CompletableFuture<Void> checkpoint;
+    private long cutLsn;
+    private long cutPosition;
+    private FileChannel channel;
+    private long nextLsn = 1;
+    private long syncedPosition;
+    private long syncedLsn = 1;
+    private long lastSync;
+    private boolean dirty;
+    private volatile IOException failure;
+    private int unapplied;
+
+    @Autowired
+    public WriteAheadLog(Database db,
+                         @Value("${mizdooni.wal.path:data/mizdooni.wal}") String path,
+                         @Value("${mizdooni.wal.mode:sync}") String mode,
+                         @Value("${mizdooni.wal.flush-interval:100ms}") Duration flushInterval,
+                         @Value("${mizdooni.snapshot.path:}") String snapshotPath,
+                         @Value("${mizdooni.wal.checkpoint-size:64MB}") DataSize checkpointSize) {
+        this(Path.of(path), Durability.valueOf(mode.toUpperCase(Locale.ROOT)), flushInterval);
+        this.db = db;
+        if (!snapshotPath.isEmpty()) {
+            this.snapshotPath = Path.of(snapshotPath);
+            this.checkpointBytes = checkpointSize.toBytes();
+            this.checkpointAt = checkpointBytes;
+        }
+    }
+
+    public WriteAheadLog(Path path, Durability durability, Duration flushInterval) {
+        this.path = path;
+        this.durability = durability;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.committer = new GroupCommitter<>("write-ahead log", flushIntervalNanos, this::commit);
+    }
+
+    @Override
+    public void recover() {
+        if (durability == Durability.OFF) {
+            return;
+        }
+        try {
+            replay();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("cannot open write-ahead log " + path, ex);
+        }
+    }
+
+    private void replay() throws IOException {
+        LogReplayer replayer = new LogReplayer(db);
+        checkpointLsn = db.getCheckpointLsn();
+        LongAdder replayed = new LongAdder();
+        open(entry -> {
+            try {
+                replayer.apply(entry);
+            } catch (RuntimeException ex) {
+                throw new IllegalStateException("cannot replay write-ahead log record " + entry.lsn() + " (" +
+                        entry.op() + ")", ex);
+            }
+            replayed.increment();
+        }, replayer::flush);
+        if (snapshotPath != null && replayed.sum() > 0) {
+            checkpointRequested = true;
+        }
+    }
+
+    public void open(Consumer<Entry> replay) throws IOException {
+        open(replay, () -> {});
+    }
+
+    public void open(Consumer<Entry> replay, Runnable replayed) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = read(entry -> {
+            if (entry.lsn() > checkpointLsn) {
+                replay.accept(entry);
+            }
+        });
+        replayed.run();
+        nextLsn = Math.max(nextLsn, checkpointLsn + 1);
+        if (valid < channel.size()) {
+            logger.warn("truncating torn write-ahead log tail at byte " + valid);
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+        syncedPosition = valid;
+        syncedLsn = nextLsn;
+
+        lastSync = System.nanoTime();
+        committer.start("write-ahead-log");
+    }
+
+    @Override
+    public <T> T append(String op, Object key, Supplier<T> prepare, Function<T, Map<String, Object>> args,
+                        Consumer<T> apply) {
+        synchronized (locks.lockFor(key)) {
+            T result = prepare.get();
+            if (result == null) {
+                return null;
+            }
+            if (durability == Durability.OFF) {
+                apply.accept(result);
+                return result;
+            }
+
+            byte[] payload;
+            try {
+                payload = mapper.writeValueAsBytes(new Record(op, args.apply(result)));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("write-ahead log record is not serializable", ex);
+            }
+            GroupCommitter.Pending<byte[]> pending = committer.submit(payload, () -> {
+                if (failure != null) {
+                    throw new IllegalStateException("write-ahead log failed, restart to recover", failure);
+                }
+                synchronized (applying) {
+                    unapplied++;
+                }
+            });
+
+            try {
+                if (durability == Durability.SYNC) {
+                    try {
+                        pending.done().join();
+                    } catch (CompletionException ex) {
+                        throw new IllegalStateException("write-ahead log write failed", ex.getCause());
+                    }
+                }
+                apply.accept(result);
+            } finally {
+                synchronized (applying) {
+                    if (--unapplied == 0) {
+                        applying.notifyAll();
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(durability.name().toLowerCase(Locale.ROOT), records.sum(), batches.sum(), syncs.sum(),
+                checkpoints.sum());
+    }
+
+    private long read(Consumer<Entry> replay) throws IOException {
+        channel.position(0);
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(channel));
+        DataInputStream in = new DataInputStream(stream);
+        long position = 0;
+        while (true) {
+            int length;
+            int checksum;
+            byte[] body;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length < LSN_BYTES || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+                body = new byte[length];
+                in.readFully(body);
+            } catch (EOFException ex) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            long lsn = ByteBuffer.wrap(body).getLong();
+            Record record = mapper.readValue(body, LSN_BYTES, length - LSN_BYTES, Record.class);
+            replay.accept(new Entry(lsn, record.op(), record.args()));
+            nextLsn = lsn + 1;
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void commit(List<GroupCommitter.Pending<byte[]>> batch, boolean stopping) {
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                dirty = true;
+            }
+            long now = System.nanoTime();
+            if (dirty && (durability == Durability.SYNC || now - lastSync >= flushIntervalNanos || stopping)) {
+                sync();
+                dirty = false;
+                lastSync = now;
+            }
+            batch.forEach(pending -> pending.done().complete(null));
+            batch.clear();
+            if (snapshotPath != null && failure == null) {
+                if (checkpoint != null && (checkpoint.isDone() || stopping)) {
+                    finishCheckpoint();
+                }
+                if (checkpoint == null && (checkpointRequested || channel.position() >= checkpointAt ||
+                        (stopping && channel.position() > 0))) {
+                    startCheckpoint();
+                    if (stopping) {
+                        finishCheckpoint();
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            if (failure == null) {
+                logger.error("write-ahead log write failed, refusing further writes", ex);
+                failure = ex;
+            }
+            batch.forEach(pending -> pending.done().completeExceptionally(ex));
+        }
+    }
+
+    private void write(List<GroupCommitter.Pending<byte[]>> batch) throws IOException {
+        int size = 0;
+        for (GroupCommitter.Pending<byte[]> pending : batch) {
+            size += HEADER_BYTES + LSN_BYTES + pending.payload().length;
+        }
+        long start = channel.position();
+        long firstLsn = nextLsn;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (GroupCommitter.Pending<byte[]> pending : batch) {
+            int offset = buffer.position();
+            buffer.putInt(LSN_BYTES + pending.payload().length);
+            buffer.putInt(0);
+            buffer.putLong(nextLsn++);
+            buffer.put(pending.payload());
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), offset + HEADER_BYTES, LSN_BYTES + pending.payload().length);
+            buffer.putInt(offset + 4, (int) crc.getValue());
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            rollback(start, firstLsn, ex);
+            throw ex;
+        }
+        records.add(batch.size());
+        batches.increment();
+    }
+
+    private void sync() throws IOException {
+        try {
+            channel.force(false);
+        } catch (IOException ex) {
+            rollback(syncedPosition, syncedLsn, ex);
+            throw ex;
+        }
+        syncs.increment();
+        syncedPosition = channel.position();
+        syncedLsn = nextLsn;
+    }
+
+    private void startCheckpoint() throws IOException {
+        Snapshot snapshot;
+        synchronized (committer.sequencer()) {
+            List<GroupCommitter.Pending<byte[]>> queued = committer.drain();
+            try {
+                if (!queued.isEmpty()) {
+                    write(queued);
+                }
+                sync();
+            } catch (IOException ex) {
+                queued.forEach(pending -> pending.done().completeExceptionally(ex));
+                throw ex;
+            }
+            queued.forEach(pending -> pending.done().complete(null));
+            awaitApplied();
+
+            checkpointRequested = false;
+            cutLsn = nextLsn - 1;
+            cutPosition = channel.position();
+            snapshot = new Snapshot(db).capture(cutLsn);
+        }
+
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                snapshot.write(snapshotPath);
+                written.complete(null);
+            } catch (IOException | RuntimeException ex) {
+                written.completeExceptionally(ex);
+            }
+        }, "checkpoint");
+        thread.setDaemon(true);
+        thread.start();
+        checkpoint = written;
+    }
+
+    private void finishCheckpoint() throws IOException {
+        CompletableFuture<Void> written = checkpoint;
+        checkpoint = null;
+        try {
+            written.join();
+        } catch (CompletionException ex) {
+            logger.warn("checkpoint failed, keeping the write-ahead log: " + ex.getCause().getMessage());
+            checkpointAt = channel.position() + checkpointBytes;
+            return;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel tail = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long end = channel.position();
+            for (long copied = cutPosition; copied < end; ) {
+                copied += channel.transferTo(copied, end - copied, tail);
+            }
+            tail.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        syncedPosition = channel.position();
+        syncedLsn = nextLsn;
+        checkpointAt = checkpointBytes;
+        db.setCheckpointLsn(cutLsn);
+        checkpoints.increment();
+    }
+
+    private void awaitApplied() throws IOException {
+        synchronized (applying) {
+            while (unapplied > 0) {
+                try {
+                    applying.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for logged changes to apply");
+                }
+            }
+        }
+    }
+
+    private void rollback(long position, long lsn, IOException cause) {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException ex) {
+            cause.addSuppressed(ex);
+        }
+        nextLsn = lsn;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        committer.close();
+        channel.close();
+    }
+}
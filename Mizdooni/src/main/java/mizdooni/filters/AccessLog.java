@@ -0,0 +1,256 @@
+package mizdooni.filters;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AccessLog {
+    public record Stats(String path, double sampleRate, long recorded, long sampledOut, long dropped, long written,
+                        long batches) {
+    }
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS"};
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final int MAX_PATH_BYTES = 256;
+    private static final int MAX_LINE_BYTES = 64 + MAX_PATH_BYTES;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+    private final Path path;
+    private final double sampleRate;
+    private final long flushIntervalNanos;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final int[] statuses;
+    private final byte[] methods;
+    private final byte[][] paths;
+    private final int[] pathLengths;
+    private final AtomicLong head = new AtomicLong();
+    private long tail;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private long reportedDrops;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final StringBuilder line = new StringBuilder(MAX_LINE_BYTES);
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+
+    public AccessLog(String path, double sampleRate, int capacity, Duration flushInterval) {
+        this.path = path.isEmpty() ? null : Path.of(path);
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.capacity = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+
+        sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        timestamps = new long[this.capacity];
+        latencies = new long[this.capacity];
+        statuses = new int[this.capacity];
+        methods = new byte[this.capacity];
+        paths = new byte[this.capacity][MAX_PATH_BYTES];
+        pathLengths = new int[this.capacity];
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (path == null) {
+            return;
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        running = true;
+        writer = new Thread(this::run, "access-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean record(String method, String uri, String query, int status, long latencyNanos) {
+        if (path == null) {
+            return false;
+        }
+        if (status < 500 && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return false;
+        }
+
+        long position;
+        int slot;
+        while (true) {
+            position = head.get();
+            slot = (int) (position & mask);
+            long sequence = sequences.get(slot);
+            if (sequence < position) {
+                dropped.increment();
+                return false;
+            }
+            if (sequence == position && head.compareAndSet(position, position + 1)) {
+                break;
+            }
+        }
+
+        timestamps[slot] = System.currentTimeMillis();
+        latencies[slot] = latencyNanos;
+        statuses[slot] = status;
+        methods[slot] = methodCode(method);
+        byte[] bytes = paths[slot];
+        int length = copy(uri, bytes, 0);
+        if (query != null && length < MAX_PATH_BYTES) {
+            bytes[length++] = '?';
+            length = copy(query, bytes, length);
+        }
+        pathLengths[slot] = length;
+        sequences.set(slot, position + 1);
+        recorded.increment();
+        return true;
+    }
+
+    public Stats stats() {
+        return new Stats(path == null ? "" : path.toString(), sampleRate, recorded.sum(), sampledOut.sum(),
+                dropped.sum(), written.sum(), batches.sum());
+    }
+
+    private void run() {
+        while (running) {
+            flush();
+            LockSupport.parkNanos(flushIntervalNanos);
+        }
+        flush();
+    }
+
+    private void flush() {
+        int buffered = 0;
+        try {
+            while (sequences.get((int) (tail & mask)) == tail + 1) {
+                int slot = (int) (tail & mask);
+                if (buffer.remaining() < MAX_LINE_BYTES) {
+                    write();
+                    written.add(buffered);
+                    buffered = 0;
+                }
+                format(slot);
+                sequences.set(slot, tail + capacity);
+                tail++;
+                buffered++;
+            }
+            if (buffered > 0) {
+                write();
+                written.add(buffered);
+                batches.increment();
+            }
+        } catch (IOException ex) {
+            logger.error("access log write failed", ex);
+            dropped.add(buffered);
+            buffer.clear();
+        }
+
+        long drops = dropped.sum();
+        if (drops > reportedDrops) {
+            logger.warn("access log dropped " + (drops - reportedDrops) + " records");
+            reportedDrops = drops;
+        }
+    }
+
+    private void format(int slot) {
+        line.setLength(0);
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(timestamps[slot]), line);
+        line.append(' ');
+        pad(line, methods[slot] < 0 ? "-" : METHODS[methods[slot]], 7, false);
+        line.append(' ');
+        pad(line, Integer.toString(statuses[slot]), 3, true);
+        line.append(' ');
+        pad(line, Long.toString(latencies[slot] / 1000), 9, true);
+        line.append("us ");
+        for (int i = 0; i < line.length(); i++) {
+            buffer.put((byte) line.charAt(i));
+        }
+        buffer.put(paths[slot], 0, pathLengths[slot]);
+        buffer.put((byte) '\n');
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private static byte methodCode(String method) {
+        for (byte i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int copy(String value, byte[] bytes, int offset) {
+        int length = Math.min(value.length(), MAX_PATH_BYTES - offset);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            bytes[offset + i] = c > ' ' && c < 127 ? (byte) c : (byte) '?';
+        }
+        return offset + length;
+    }
+
+    private static void pad(StringBuilder line, String value, int width, boolean right) {
+        if (!right) {
+            line.append(value);
+        }
+        for (int i = value.length(); i < width; i++) {
+            line.append(' ');
+        }
+        if (right) {
+            line.append(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package mizdooni.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public class AccessLogFilter implements Filter {
+    private AccessLog accessLog;
+
+    public AccessLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse res = (HttpServletResponse) response;
+
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            status = res.getStatus();
+            if (req.isAsyncStarted()) {
+                req.getAsyncContext().addListener(new AsyncRecorder(req.getMethod(), req.getRequestURI(),
+                        req.getQueryString(), res, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                accessLog.record(req.getMethod(), req.getRequestURI(), req.getQueryString(), status,
+                        System.nanoTime() - start);
+            }
+        }
+    }
+
+    private class AsyncRecorder implements AsyncListener {
+        private final String method;
+        private final String uri;
+        private final String query;
+        private final HttpServletResponse response;
+        private final long start;
+        private boolean failed;
+
+        private AsyncRecorder(String method, String uri, String query, HttpServletResponse response, long start) {
+            this.method = method;
+            this.uri = uri;
+            this.query = query;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            accessLog.record(method, uri, query, status, System.nanoTime() - start);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
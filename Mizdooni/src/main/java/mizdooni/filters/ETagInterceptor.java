@@ -0,0 +1,58 @@
+package mizdooni.filters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mizdooni.model.Restaurant;
+import mizdooni.service.RestaurantService;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+public class ETagInterceptor implements HandlerInterceptor {
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private RestaurantService restaurantService;
+
+    public ETagInterceptor(RestaurantService restaurantService) {
+        this.restaurantService = restaurantService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Map<?, ?> variables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pattern == null || variables == null || !(variables.get("restaurantId") instanceof String id)) {
+            return true;
+        }
+
+        Restaurant restaurant;
+        try {
+            restaurant = restaurantService.getRestaurant(Integer.parseInt(id));
+        } catch (NumberFormatException ex) {
+            return true;
+        }
+        if (restaurant == null) {
+            return true;
+        }
+
+        String etag = switch (pattern) {
+            case "/restaurants/{restaurantId}" -> tag("r", restaurant.getId(), restaurant.getVersion());
+            case "/tables/{restaurantId}" -> tag("t", restaurant.getId(), restaurant.getTablesVersion());
+            case "/reviews/{restaurantId}" -> tag("v", restaurant.getId(), restaurant.getReviewsVersion());
+            default -> null;
+        };
+        if (etag == null) {
+            return true;
+        }
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static String tag(String kind, int id, long version) {
+        return "\"" + kind + EPOCH + "-" + id + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,44 @@
+package mizdooni.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mizdooni.response.Response;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+public class ReadinessFilter implements Filter {
+    private static final String READY_PATH = "/ready";
+
+    private final ApplicationAvailability availability;
+    private final ObjectMapper mapper;
+
+    public ReadinessFilter(ApplicationAvailability availability, ObjectMapper mapper) {
+        this.availability = availability;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        if (availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC ||
+                READY_PATH.equals(req.getServletPath())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse res = (HttpServletResponse) response;
+        res.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        mapper.writeValue(res.getOutputStream(),
+                new Response(HttpStatus.SERVICE_UNAVAILABLE, "application is not ready", false, null, null));
+    }
+}
@@ -0,0 +1,120 @@
+package mizdooni.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SingleFlightFilter implements Filter {
+    public record Stats(long executed, long coalesced, double coalescedRate, int inFlight) {
+    }
+
+    private record Result(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    private final Map<String, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse res = (HttpServletResponse) response;
+        if (!"GET".equals(req.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = keyOf(req);
+        CompletableFuture<Result> flight = new CompletableFuture<>();
+        CompletableFuture<Result> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            Result result;
+            try {
+                result = leader.join();
+            } catch (CompletionException ex) {
+                chain.doFilter(request, response);
+                return;
+            }
+            coalesced.increment();
+            write(res, result);
+            return;
+        }
+
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(res);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+
+        Result result = new Result(wrapper.getStatus(), headersOf(wrapper), wrapper.getContentAsByteArray());
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        wrapper.copyBodyToResponse();
+    }
+
+    public Stats stats() {
+        long executedCount = executed.sum();
+        long coalescedCount = coalesced.sum();
+        long requests = executedCount + coalescedCount;
+        return new Stats(executedCount, coalescedCount, requests == 0 ? 0 : (double) coalescedCount / requests,
+                inFlight.size());
+    }
+
+    private static String keyOf(HttpServletRequest req) {
+        StringBuilder key = new StringBuilder(req.getRequestURI());
+        if (req.getQueryString() != null) {
+            key.append('?').append(req.getQueryString());
+        }
+        String accept = req.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append(' ').append(accept);
+        }
+        String etag = req.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (etag != null) {
+            key.append(' ').append(etag);
+        }
+        return key.toString();
+    }
+
+    private static Map<String, List<String>> headersOf(HttpServletResponse res) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : res.getHeaderNames()) {
+            if (!HttpHeaders.SET_COOKIE.equalsIgnoreCase(name) &&
+                    !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(res.getHeaders(name)));
+            }
+        }
+        if (res.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(res.getContentType()));
+        }
+        return headers;
+    }
+
+    private static void write(HttpServletResponse res, Result result) throws IOException {
+        res.setStatus(result.status());
+        for (Map.Entry<String, List<String>> header : result.headers().entrySet()) {
+            for (String value : header.getValue()) {
+                res.addHeader(header.getKey(), value);
+            }
+        }
+        res.setContentLength(result.body().length);
+        res.getOutputStream().write(result.body());
+    }
+}
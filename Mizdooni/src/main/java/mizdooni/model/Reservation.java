@@ -1,21 +1,24 @@
 package mizdooni.model;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Reservation {
+    private static final AtomicInteger idCounter = new AtomicInteger();
+
     private User user;
     private Restaurant restaurant;
     private Table table;
     private LocalDateTime datetime;
     private int reservationNumber;
-    private boolean cancelled;
+    private volatile boolean cancelled;
 
     public Reservation(User user, Restaurant restaurant, Table table, LocalDateTime datetime) {
         this.user = user;
         this.restaurant = restaurant;
         this.table = table;
         this.datetime = datetime;
-        this.reservationNumber = -1;
+        this.reservationNumber = idCounter.getAndIncrement();
         this.cancelled = false;
     }
 
@@ -49,6 +52,11 @@ public class Reservation {
 
     public void setReservationNumber(int reservationNumber) {
         this.reservationNumber = reservationNumber;
+        skipNumbers(reservationNumber);
+    }
+
+    public static void skipNumbers(int reservationNumber) {
+        idCounter.accumulateAndGet(reservationNumber + 1, Math::max);
     }
 
     public boolean isPastTime() {
@@ -0,0 +1,120 @@
+package mizdooni.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ReservationIndex {
+    private final NavigableMap<LocalDate, NavigableMap<LocalTime, List<Reservation>>> byDate =
+            new ConcurrentSkipListMap<>();
+    private final NavigableMap<LocalDate, Integer> occupancy = new ConcurrentSkipListMap<>();
+
+    public void add(Reservation reservation) {
+        List<Reservation> slot = slot(reservation.getDateTime());
+        synchronized (slot) {
+            slot.add(reservation);
+            updateOccupancy(reservation.getDateTime(), slot);
+        }
+    }
+
+    public boolean addIfFree(Reservation reservation) {
+        List<Reservation> slot = slot(reservation.getDateTime());
+        synchronized (slot) {
+            if (slot.stream().anyMatch(r -> !r.isCancelled())) {
+                return false;
+            }
+            slot.add(reservation);
+            updateOccupancy(reservation.getDateTime(), slot);
+            return true;
+        }
+    }
+
+    public boolean cancel(Reservation reservation) {
+        List<Reservation> slot = slot(reservation.getDateTime());
+        synchronized (slot) {
+            if (reservation.isCancelled()) {
+                return false;
+            }
+            reservation.cancel();
+            updateOccupancy(reservation.getDateTime(), slot);
+            return true;
+        }
+    }
+
+    private void updateOccupancy(LocalDateTime datetime, List<Reservation> slot) {
+        if (datetime.getMinute() != 0 || datetime.getSecond() != 0 || datetime.getNano() != 0) {
+            return;
+        }
+        int mask = 1 << datetime.getHour();
+        boolean occupied = slot.stream().anyMatch(r -> !r.isCancelled());
+        occupancy.compute(datetime.toLocalDate(), (date, bits) -> {
+            int updated = occupied ? (bits == null ? 0 : bits) | mask : (bits == null ? 0 : bits) & ~mask;
+            return updated == 0 ? null : updated;
+        });
+    }
+
+    public void removeBefore(LocalDate date) {
+        byDate.headMap(date).clear();
+        occupancy.headMap(date).clear();
+    }
+
+    public NavigableMap<LocalDate, Integer> occupancy(LocalDate from, LocalDate to) {
+        return occupancy.subMap(from, true, to, true);
+    }
+
+    private List<Reservation> slot(LocalDateTime datetime) {
+        return byDate.computeIfAbsent(datetime.toLocalDate(), k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(datetime.toLocalTime(), k -> new CopyOnWriteArrayList<>());
+    }
+
+    public Iterable<Reservation> between(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("invalid date range");
+        }
+        NavigableMap<LocalDate, NavigableMap<LocalTime, List<Reservation>>> range = byDate;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        NavigableMap<LocalDate, NavigableMap<LocalTime, List<Reservation>>> days = range;
+        return () -> days.values().stream()
+                .flatMap(slots -> slots.values().stream())
+                .flatMap(List::stream)
+                .iterator();
+    }
+
+    public List<Reservation> on(LocalDate date) {
+        NavigableMap<LocalTime, List<Reservation>> slots = byDate.get(date);
+        if (slots == null) {
+            return List.of();
+        }
+        return slots.values().stream().flatMap(List::stream).toList();
+    }
+
+    public List<Reservation> at(LocalDateTime datetime) {
+        NavigableMap<LocalTime, List<Reservation>> slots = byDate.get(datetime.toLocalDate());
+        if (slots == null) {
+            return List.of();
+        }
+        return slots.getOrDefault(datetime.toLocalTime(), List.of());
+    }
+
+    public boolean isReserved(LocalDateTime datetime) {
+        return at(datetime).stream().anyMatch(r -> !r.isCancelled());
+    }
+
+    public boolean hasActiveBefore(LocalDateTime datetime) {
+        for (Reservation reservation : between(null, datetime.toLocalDate())) {
+            if (!reservation.isCancelled()) {
+                return reservation.getDateTime().isBefore(datetime);
+            }
+        }
+        return false;
+    }
+}
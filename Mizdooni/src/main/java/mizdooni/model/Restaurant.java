@@ -1,8 +1,9 @@
 package mizdooni.model;
 
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Restaurant {
     private static int idCounter = 0;
@@ -16,7 +17,10 @@ public class Restaurant {
     private Address address;
     private String imageLink;
     private List<Table> tables;
-    private List<Review> reviews;
+    private ReviewList reviews;
+    private Rating ratingSum;
+    private volatile Rating averageRating;
+    private AtomicLong version;
 
     public Restaurant(String name, User manager, String type, LocalTime startTime, LocalTime endTime,
                       String description, Address address, String imageLink) {
@@ -29,8 +33,11 @@ public class Restaurant {
         this.description = description;
         this.address = address;
         this.imageLink = imageLink;
-        this.tables = new ArrayList<>();
-        this.reviews = new ArrayList<>();
+        this.tables = new CopyOnWriteArrayList<>();
+        this.reviews = new ReviewList();
+        this.ratingSum = new Rating();
+        this.averageRating = new Rating();
+        this.version = new AtomicLong();
     }
 
     public Table getTable(int tableNumber) {
@@ -40,40 +47,53 @@ public class Restaurant {
     public void addTable(Table table) {
         table.setTableNumber(tables.size() + 1);
         tables.add(table);
+        version.incrementAndGet();
     }
 
-    public void addReview(Review review) {
-        for (Review r : reviews) {
-            if (r.getUser().equals(review.getUser())) {
-                reviews.remove(r);
-                break;
-            }
+    public synchronized void addReview(Review review) {
+        Review replaced = reviews.put(review);
+        if (replaced != null) {
+            addToRatingSum(replaced.getRating(), -1);
         }
-        reviews.add(review);
+        addToRatingSum(review.getRating(), 1);
+        updateAverageRating();
+        version.incrementAndGet();
     }
 
-    public Rating getAverageRating() {
-        Rating average = new Rating();
-
-        for (Review r : reviews) {
-            average.food += r.getRating().food;
-            average.service += r.getRating().service;
-            average.ambiance += r.getRating().ambiance;
-            average.overall += r.getRating().overall;
-        }
+    private void addToRatingSum(Rating rating, int sign) {
+        ratingSum.food += sign * rating.food;
+        ratingSum.service += sign * rating.service;
+        ratingSum.ambiance += sign * rating.ambiance;
+        ratingSum.overall += sign * rating.overall;
+    }
 
+    private void updateAverageRating() {
+        Rating average = new Rating();
         if (!reviews.isEmpty()) {
-            average.food /= reviews.size();
-            average.service /= reviews.size();
-            average.ambiance /= reviews.size();
-            average.overall /= reviews.size();
+            average.food = ratingSum.food / reviews.size();
+            average.service = ratingSum.service / reviews.size();
+            average.ambiance = ratingSum.ambiance / reviews.size();
+            average.overall = ratingSum.overall / reviews.size();
         }
+        averageRating = average;
+    }
+
+    public Rating getAverageRating() {
+        Rating average = averageRating;
+        Rating copy = new Rating();
+        copy.food = average.food;
+        copy.service = average.service;
+        copy.ambiance = average.ambiance;
+        copy.overall = average.overall;
+        return copy;
+    }
 
-        return average;
+    public double getAverageOverall() {
+        return averageRating.overall;
     }
 
     public int getStarCount() {
-        return getAverageRating().getStarCount();
+        return averageRating.getStarCount();
     }
 
     public int getMaxSeatsNumber() {
@@ -84,6 +104,10 @@ public class Restaurant {
         return tables;
     }
 
+    public long getVersion() {
+        return version.get();
+    }
+
     public int getId() {
         return id;
     }
@@ -108,10 +132,34 @@ public class Restaurant {
         return endTime;
     }
 
+    public String getDescription() {
+        return description;
+    }
+
     public Address getAddress() {
         return address;
     }
 
+    public String getImageLink() {
+        return imageLink;
+    }
+
+    public long getTablesVersion() {
+        long sum = tables.size();
+        for (int i = 0; i < tables.size(); i++) {
+            sum += tables.get(i).getVersion();
+        }
+        return sum;
+    }
+
+    public long getReviewsVersion() {
+        return reviews.getVersion();
+    }
+
+    public ReviewList.Page getReviewsAfter(long sequence, int limit) {
+        return reviews.after(sequence, limit);
+    }
+
     public List<Review> getReviews() {
         return reviews;
     }
@@ -1,54 +1,83 @@
 package mizdooni.model;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 public class RestaurantSearchFilter {
     private String name;
+    private boolean ignoreCase;
     private String type;
+    private String country;
     private String location;
     private String sort;
     private String order;
 
-    public List<Restaurant> filter(List<Restaurant> restaurants) {
-        List<Restaurant> rest = new ArrayList<>(restaurants);
-        if (name != null) {
-            rest = rest.stream().filter(r -> r.getName().contains(name)).collect(Collectors.toList());
+    public boolean matches(Restaurant restaurant) {
+        if (!matchesName(restaurant)) {
+            return false;
         }
-        if (type != null) {
-            rest = rest.stream().filter(r -> r.getType().equals(type)).collect(Collectors.toList());
+        if (type != null && !restaurant.getType().equals(type)) {
+            return false;
         }
-        if (location != null) {
-            rest = rest.stream().filter(r -> r.getAddress().getCity().equals(location)).collect(Collectors.toList());
+        if (country != null && !restaurant.getAddress().getCountry().equals(country)) {
+            return false;
         }
-        if (sort != null) {
-            if (sort.equals("rating")) {
-                Comparator<Restaurant> comparator = Comparator.comparing(r -> r.getAverageRating().overall);
-                if (order != null && order.equals("asc")) {
-                    comparator = comparator.reversed();
-                }
-                rest.sort(comparator.reversed());
-            } else if (sort.equals("reviews")) {
-                Comparator<Restaurant> comparator = Comparator.comparingInt(r -> r.getReviews().size());
-                if (order != null && order.equals("asc")) {
-                    comparator = comparator.reversed();
-                }
-                rest.sort(comparator.reversed());
-            }
+        return location == null || restaurant.getAddress().getCity().equals(location);
+    }
+
+    public boolean matchesName(Restaurant restaurant) {
+        if (name == null) {
+            return true;
+        }
+        if (ignoreCase) {
+            return restaurant.getName().toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT));
         }
-        return rest;
+        return restaurant.getName().contains(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public boolean isAscending() {
+        return order != null && order.equals("asc");
     }
 
     public void setName(String name) {
         this.name = name;
     }
 
+    public void setIgnoreCase(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
     public void setType(String type) {
         this.type = type;
     }
 
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
     public void setLocation(String location) {
         this.location = location;
     }
@@ -19,6 +19,10 @@ public class Review {
         return rating;
     }
 
+    public String getComment() {
+        return comment;
+    }
+
     public int getStarCount() {
         return rating.getStarCount();
     }
@@ -26,4 +30,8 @@ public class Review {
     public User getUser() {
         return user;
     }
+
+    public LocalDateTime getDateTime() {
+        return datetime;
+    }
 }
@@ -0,0 +1,157 @@
+package mizdooni.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReviewList extends AbstractList<Review> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    public record Page(List<Review> reviews, long lastSequence, boolean hasNext) {
+    }
+
+    private Review[] slots;
+    private long[] sequences;
+    private long nextSequence = 1;
+    private int[] tree;
+    private int used;
+    private int size;
+    private final Map<User, Integer> slotByUser;
+    private final AtomicLong version = new AtomicLong();
+
+    public ReviewList() {
+        slots = new Review[INITIAL_CAPACITY];
+        sequences = new long[INITIAL_CAPACITY];
+        tree = new int[INITIAL_CAPACITY + 1];
+        slotByUser = new HashMap<>();
+    }
+
+    public synchronized Review put(Review review) {
+        Review replaced = null;
+        Integer previous = slotByUser.get(review.getUser());
+        if (previous != null) {
+            replaced = slots[previous];
+            slots[previous] = null;
+            updateTree(previous, -1);
+            size--;
+        }
+
+        if (used == slots.length) {
+            rebuild();
+        }
+        int slot = used++;
+        slots[slot] = review;
+        sequences[slot] = nextSequence++;
+        updateTree(slot, 1);
+        size++;
+        slotByUser.put(review.getUser(), slot);
+        modCount++;
+        version.incrementAndGet();
+        return replaced;
+    }
+
+    public synchronized Review getByUser(User user) {
+        Integer slot = slotByUser.get(user);
+        return slot == null ? null : slots[slot];
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public synchronized Page after(long sequence, int limit) {
+        int from = Arrays.binarySearch(sequences, 0, used, sequence);
+        int slot = nextLive(from >= 0 ? from + 1 : -from - 1);
+        List<Review> reviews = new ArrayList<>(limit);
+        long last = sequence;
+        while (slot < used && reviews.size() < limit) {
+            reviews.add(slots[slot]);
+            last = sequences[slot];
+            slot = nextLive(slot + 1);
+        }
+        return new Page(reviews, last, slot < used);
+    }
+
+    @Override
+    public synchronized Review get(int index) {
+        Objects.checkIndex(index, size);
+        return slots[findSlot(index + 1)];
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Iterator<Review> iterator() {
+        Review[] live = new Review[size];
+        int count = 0;
+        for (int slot = nextLive(0); slot < used; slot = nextLive(slot + 1)) {
+            live[count++] = slots[slot];
+        }
+        return Arrays.asList(live).iterator();
+    }
+
+    private int nextLive(int slot) {
+        while (slot < used && slots[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private void updateTree(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int findSlot(int rank) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] < rank) {
+                position = next;
+                rank -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void rebuild() {
+        int capacity = size > slots.length / 2 ? slots.length * 2 : slots.length;
+        Review[] compacted = new Review[capacity];
+        long[] compactedSequences = new long[capacity];
+        int count = 0;
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != null) {
+                compacted[count] = slots[i];
+                compactedSequences[count] = sequences[i];
+                slotByUser.put(slots[i].getUser(), count);
+                count++;
+            }
+        }
+
+        int[] rebuilt = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= count) {
+                rebuilt[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                rebuilt[parent] += rebuilt[i];
+            }
+        }
+
+        slots = compacted;
+        sequences = compactedSequences;
+        tree = rebuilt;
+        used = count;
+    }
+}
@@ -1,28 +1,55 @@
 package mizdooni.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Table {
     private int tableNumber;
     private int restaurantId;
     private int seatsNumber;
-    private List<Reservation> reservations;
+    private ReservationIndex reservationIndex;
+    private AtomicLong version;
 
     public Table(int tableNumber, int restaurantId, int seatsNumber) {
         this.tableNumber = tableNumber;
         this.restaurantId = restaurantId;
         this.seatsNumber = seatsNumber;
-        this.reservations = new ArrayList<>();
+        this.reservationIndex = new ReservationIndex();
+        this.version = new AtomicLong();
     }
 
     public void addReservation(Reservation reservation) {
-        reservations.add(reservation);
+        reservationIndex.add(reservation);
+        version.incrementAndGet();
+    }
+
+    public boolean reserve(Reservation reservation) {
+        if (!reservationIndex.addIfFree(reservation)) {
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    public boolean cancel(Reservation reservation) {
+        if (!reservationIndex.cancel(reservation)) {
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    public void archiveBefore(LocalDate date) {
+        reservationIndex.removeBefore(date);
+        version.incrementAndGet();
     }
 
     public boolean isReserved(LocalDateTime datetime) {
-        return reservations.stream().anyMatch(r -> r.getDateTime().equals(datetime) && !r.isCancelled());
+        return reservationIndex.isReserved(datetime);
     }
 
     public int getTableNumber() {
@@ -31,13 +58,32 @@ public class Table {
 
     public void setTableNumber(int tableNumber) {
         this.tableNumber = tableNumber;
+        version.incrementAndGet();
     }
 
     public int getSeatsNumber() {
         return seatsNumber;
     }
 
+    public long getVersion() {
+        return version.get();
+    }
+
     public List<Reservation> getReservations() {
+        List<Reservation> reservations = new ArrayList<>();
+        reservationIndex.between(null, null).forEach(reservations::add);
         return reservations;
     }
+
+    public List<Reservation> getReservations(LocalDate date) {
+        return reservationIndex.on(date);
+    }
+
+    public Iterable<Reservation> getReservations(LocalDate from, LocalDate to) {
+        return reservationIndex.between(from, to);
+    }
+
+    public NavigableMap<LocalDate, Integer> getOccupancy(LocalDate from, LocalDate to) {
+        return reservationIndex.occupancy(from, to);
+    }
 }
@@ -1,8 +1,11 @@
 package mizdooni.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class User {
     public enum Role {
@@ -17,8 +20,9 @@ public class User {
     private String email;
     private Address address;
     private Role role;
-    private int reservationCounter;
     private List<Reservation> reservations;
+    private ReservationIndex reservationIndex;
+    private Map<Restaurant, ReservationIndex> reservationsByRestaurant;
 
     public User(String username, String password, String email, Address address, Role role) {
         this.id = idCounter++;
@@ -27,23 +31,32 @@ public class User {
         this.email = email;
         this.address = address;
         this.role = role;
-        this.reservationCounter = 0;
         this.reservations = new ArrayList<>();
+        this.reservationIndex = new ReservationIndex();
+        this.reservationsByRestaurant = new ConcurrentHashMap<>();
     }
 
-    public void addReservation(Reservation reservation) {
-        reservation.setReservationNumber(reservationCounter);
-        reservationCounter++;
+    public synchronized void addReservation(Reservation reservation) {
         reservations.add(reservation);
+        reservationIndex.add(reservation);
+        if (reservation.getRestaurant() != null) {
+            reservationsByRestaurant.computeIfAbsent(reservation.getRestaurant(), k -> new ReservationIndex())
+                    .add(reservation);
+        }
+    }
+
+    public synchronized void archiveBefore(LocalDate date) {
+        reservations.removeIf(reservation -> reservation.getDateTime().toLocalDate().isBefore(date));
+        reservationIndex.removeBefore(date);
+        reservationsByRestaurant.values().forEach(index -> index.removeBefore(date));
     }
 
     public boolean checkReserved(Restaurant restaurant) {
-        return reservations.stream().anyMatch(r -> !r.isCancelled() &&
-                r.getDateTime().isBefore(LocalDateTime.now()) &&
-                r.getRestaurant().equals(restaurant));
+        ReservationIndex restaurantReservations = reservationsByRestaurant.get(restaurant);
+        return restaurantReservations != null && restaurantReservations.hasActiveBefore(LocalDateTime.now());
     }
 
-    public Reservation getReservation(int reservationNumber) {
+    public synchronized Reservation getReservation(int reservationNumber) {
         for (Reservation r : reservations) {
             if (r.getReservationNumber() == reservationNumber && !r.isCancelled()) {
                 return r;
@@ -52,8 +65,12 @@ public class User {
         return null;
     }
 
-    public List<Reservation> getReservations() {
-        return reservations;
+    public synchronized List<Reservation> getReservations() {
+        return List.copyOf(reservations);
+    }
+
+    public Iterable<Reservation> getReservations(LocalDate from, LocalDate to) {
+        return reservationIndex.between(from, to);
     }
 
     public boolean checkPassword(String pass) {
@@ -68,10 +85,18 @@ public class User {
         return username;
     }
 
+    public String getPassword() {
+        return password;
+    }
+
     public String getEmail() {
         return email;
     }
 
+    public Address getAddress() {
+        return address;
+    }
+
     public Role getRole() {
         return role;
     }
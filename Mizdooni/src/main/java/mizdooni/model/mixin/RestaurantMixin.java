@@ -15,6 +15,7 @@ import org.springframework.boot.jackson.JsonMixin;
 import java.io.IOException;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @JsonMixin(Restaurant.class)
 @JsonAutoDetect(
@@ -42,12 +43,23 @@ abstract class RestaurantMixin {
     @JsonSerialize(using = ListSizeSerializer.class)
     private List<Review> reviews;
 
+    @JsonIgnore
+    private Rating ratingSum;
+
+    @JsonProperty
+    private Rating averageRating;
+
+    @JsonIgnore
+    private AtomicLong version;
+
     @JsonProperty
     abstract int getMaxSeatsNumber();
     @JsonProperty
     abstract int getStarCount();
-    @JsonProperty
+    @JsonIgnore
     abstract Rating getAverageRating();
+    @JsonIgnore
+    abstract double getAverageOverall();
 
     static class UsernameSerializer extends JsonSerializer<User> {
         @Override
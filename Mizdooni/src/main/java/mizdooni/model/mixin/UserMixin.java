@@ -3,10 +3,13 @@ package mizdooni.model.mixin;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import mizdooni.model.Reservation;
+import mizdooni.model.ReservationIndex;
+import mizdooni.model.Restaurant;
 import mizdooni.model.User;
 import org.springframework.boot.jackson.JsonMixin;
 
 import java.util.List;
+import java.util.Map;
 
 @JsonMixin(User.class)
 @JsonAutoDetect(
@@ -18,7 +21,9 @@ abstract class UserMixin {
     @JsonIgnore
     private String password;
     @JsonIgnore
-    private int reservationCounter;
-    @JsonIgnore
     private List<Reservation> reservations;
+    @JsonIgnore
+    private ReservationIndex reservationIndex;
+    @JsonIgnore
+    private Map<Restaurant, ReservationIndex> reservationsByRestaurant;
 }
@@ -0,0 +1,6 @@
+package mizdooni.response;
+
+import java.time.LocalDate;
+
+public record AvailabilityCalendar(LocalDate from, LocalDate to, int people, int[] days) {
+}
@@ -0,0 +1,34 @@
+package mizdooni.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import mizdooni.response.serializer.ListSizeSerializer;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    @JsonProperty("size")
+    @JsonSerialize(using = ListSizeSerializer.class)
+    private List<T> pageList;
+    @JsonProperty
+    private String nextCursor;
+
+    public CursorPage(List<T> pageList, String nextCursor) {
+        this.pageList = pageList;
+        this.nextCursor = nextCursor;
+    }
+
+    @JsonProperty
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @JsonProperty("pageList")
+    public List<T> getPageList() {
+        return pageList;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -13,7 +13,7 @@ public class PagedList<T> {
     private int size;
     private int start;
     private int end;
-    private List<T> original;
+    private int total;
     @JsonProperty("size")
     @JsonSerialize(using = ListSizeSerializer.class)
     private List<T> pageList;
@@ -24,24 +24,36 @@ public class PagedList<T> {
         }
         this.page = page;
         this.size = size;
-        this.original = original;
+        this.total = original.size();
         this.start = (page - 1) * size;
-        this.end = Math.min(start + size, original.size());
-        if (this.start >= original.size()) {
+        this.end = Math.min(start + size, total);
+        if (this.start >= total) {
             this.pageList = Collections.emptyList();
         } else {
             this.pageList = original.subList(start, end);
         }
     }
 
+    public PagedList(List<T> pageList, int page, int size, int total) {
+        if (page < 1 || size < 1) {
+            throw new IllegalArgumentException("invalid page number");
+        }
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.start = (page - 1) * size;
+        this.end = start + pageList.size();
+        this.pageList = pageList;
+    }
+
     @JsonProperty
     public boolean hasNext() {
-        return end < original.size();
+        return end < total;
     }
 
     @JsonProperty
     public int totalPages() {
-        return (int) Math.ceil((double) original.size() / size);
+        return (int) Math.ceil((double) total / size);
     }
 
     @JsonProperty("pageList")
@@ -1,5 +1,6 @@
 package mizdooni.response;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,6 +10,7 @@ public class ResponseExceptionHandler {
     @ExceptionHandler(ResponseException.class)
     private ResponseEntity<Response> handleException(ResponseException ex) {
         return ResponseEntity.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(new Response(ex.getStatus(), ex.getMessage(), false, ex.getError(), null));
     }
 }
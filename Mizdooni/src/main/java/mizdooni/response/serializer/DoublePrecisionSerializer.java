@@ -11,6 +11,18 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 public class DoublePrecisionSerializer extends JsonSerializer<Double> implements ContextualSerializer {
+    private static final int MAX_FAST_PRECISION = 6;
+    private static final double MAX_FAST_SCALED = 0x1p52;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_PRECISION + 1];
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
     private final int precision;
 
     public DoublePrecisionSerializer() {
@@ -25,9 +37,54 @@ public class DoublePrecisionSerializer extends JsonSerializer<Double> implements
     public void serialize(Double value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         if (precision == -1) {
             gen.writeNumber(value);
-        } else {
+            return;
+        }
+
+        long scaled = roundHalfUp(value, precision);
+        if (scaled == Long.MIN_VALUE) {
             gen.writeNumber(BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP));
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        int length = format(scaled, value < 0, precision, buffer);
+        gen.writeNumber(buffer, 0, length);
+    }
+
+    static long roundHalfUp(double value, int precision) {
+        if (precision < 0 || precision > MAX_FAST_PRECISION || !Double.isFinite(value)) {
+            return Long.MIN_VALUE;
+        }
+        double scaled = Math.abs(value) * POWERS_OF_TEN[precision];
+        if (scaled >= MAX_FAST_SCALED) {
+            return Long.MIN_VALUE;
+        }
+        double floor = Math.floor(scaled);
+        if (Math.abs(scaled - floor - 0.5) <= 4 * Math.ulp(scaled)) {
+            return Long.MIN_VALUE;
+        }
+        return (long) Math.floor(scaled + 0.5);
+    }
+
+    static int format(long scaled, boolean negative, int precision, char[] buffer) {
+        int digits = 1;
+        for (long rest = scaled / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, precision + 1);
+
+        int length = (negative && scaled != 0 ? 1 : 0) + digits + (precision > 0 ? 1 : 0);
+        int position = length;
+        for (int i = 0; i < digits; i++) {
+            if (i == precision && precision > 0) {
+                buffer[--position] = '.';
+            }
+            buffer[--position] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+        }
+        if (position == 1) {
+            buffer[0] = '-';
         }
+        return length;
     }
 
     @Override
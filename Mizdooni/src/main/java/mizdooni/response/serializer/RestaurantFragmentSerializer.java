@@ -0,0 +1,71 @@
+package mizdooni.response.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import mizdooni.model.Restaurant;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RestaurantFragmentSerializer extends StdSerializer<Restaurant>
+        implements ContextualSerializer, ResolvableSerializer {
+    private record Fragment(Restaurant restaurant, long version, SerializedString json) {
+    }
+
+    private final JsonSerializer<Object> delegate;
+    private final Map<Integer, Fragment> fragments = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public RestaurantFragmentSerializer(JsonSerializer<?> delegate) {
+        super(Restaurant.class);
+        this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    @Override
+    public void serialize(Restaurant restaurant, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ObjectCodec codec = gen.getCodec();
+        if (!(codec instanceof ObjectMapper mapper) || gen instanceof TokenBuffer || gen.getPrettyPrinter() != null) {
+            delegate.serialize(restaurant, gen, provider);
+            return;
+        }
+
+        long version = restaurant.getVersion();
+        Fragment fragment = fragments.get(restaurant.getId());
+        if (fragment == null || fragment.restaurant() != restaurant || fragment.version() != version) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator fragmentGen = mapper.getFactory().createGenerator(writer)) {
+                delegate.serialize(restaurant, fragmentGen, provider);
+            }
+            SerializedString json = new SerializedString(writer.toString());
+            json.asUnquotedUTF8();
+            fragment = new Fragment(restaurant, version, json);
+            fragments.put(restaurant.getId(), fragment);
+        }
+        gen.writeRawValue(fragment.json());
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<?> contextual = provider.handlePrimaryContextualization(delegate, property);
+        return contextual == delegate ? this : contextual;
+    }
+}
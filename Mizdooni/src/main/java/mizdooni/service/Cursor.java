@@ -0,0 +1,26 @@
+package mizdooni.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+record Cursor(String scope, double key, long id) {
+    static String encode(String scope, double key, long id) {
+        String raw = scope + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String token, String scope) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length == 3 && parts[0].equals(scope)) {
+                return new Cursor(parts[0], Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException ignored) {
+        }
+        throw new IllegalArgumentException("invalid cursor");
+    }
+}
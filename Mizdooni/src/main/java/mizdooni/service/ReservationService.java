@@ -1,22 +1,29 @@
 package mizdooni.service;
 
 import mizdooni.database.Database;
+import mizdooni.database.Journal;
 import mizdooni.exceptions.*;
 import mizdooni.model.Reservation;
 import mizdooni.model.Restaurant;
 import mizdooni.model.Table;
 import mizdooni.model.User;
+import mizdooni.response.AvailabilityCalendar;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class ReservationService {
@@ -24,10 +31,40 @@ public class ReservationService {
     private Database db;
     @Autowired
     private UserService userService;
+    @Autowired
+    private Journal journal;
 
     public List<Reservation> getReservations(int restaurantId, int tableNumber, LocalDate date)
             throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant, TableNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Table table = findManagedTable(restaurantId, tableNumber);
+        Restaurant restaurant = db.restaurantsById.get(restaurantId);
+        List<Reservation> archived = db.archive.byTable(restaurant, tableNumber, date, date);
+        List<Reservation> current = date == null ? table.getReservations() : table.getReservations(date);
+        if (archived.isEmpty()) {
+            return current;
+        }
+        List<Reservation> reservations = new ArrayList<>(archived);
+        reservations.addAll(current);
+        return reservations;
+    }
+
+    public Iterable<Reservation> getReservations(int restaurantId, int tableNumber, LocalDate from, LocalDate to)
+            throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant, TableNotFound {
+        Table table = findManagedTable(restaurantId, tableNumber);
+        Restaurant restaurant = db.restaurantsById.get(restaurantId);
+        return concat(db.archive.byTable(restaurant, tableNumber, from, to), table.getReservations(from, to));
+    }
+
+    private static Iterable<Reservation> concat(List<Reservation> archived, Iterable<Reservation> current) {
+        if (archived.isEmpty()) {
+            return current;
+        }
+        return () -> Stream.concat(archived.stream(), StreamSupport.stream(current.spliterator(), false)).iterator();
+    }
+
+    private Table findManagedTable(int restaurantId, int tableNumber)
+            throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant, TableNotFound {
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -44,15 +81,27 @@ public class ReservationService {
         if (table == null) {
             throw new TableNotFound();
         }
+        return table;
+    }
 
-        List<Reservation> reservations = table.getReservations();
-        if (date != null) {
-            reservations = reservations.stream().filter(reservation -> reservation.getDateTime().toLocalDate().equals(date)).toList();
+    public List<Reservation> getCustomerReservations(int customerId) throws UserNotFound, UserNoAccess {
+        User user = findCustomer(customerId);
+        List<Reservation> archived = db.archive.byUser(user, null, null);
+        if (archived.isEmpty()) {
+            return user.getReservations();
         }
+        List<Reservation> reservations = new ArrayList<>(archived);
+        reservations.addAll(user.getReservations());
         return reservations;
     }
 
-    public List<Reservation> getCustomerReservations(int customerId) throws UserNotFound, UserNoAccess {
+    public Iterable<Reservation> getCustomerReservations(int customerId, LocalDate from, LocalDate to)
+            throws UserNotFound, UserNoAccess {
+        User user = findCustomer(customerId);
+        return concat(db.archive.byUser(user, from, to), user.getReservations(from, to));
+    }
+
+    private User findCustomer(int customerId) throws UserNotFound, UserNoAccess {
         User user = userService.getCurrentUser();
         if (user == null) {
             throw new UserNotFound();
@@ -60,12 +109,12 @@ public class ReservationService {
         if (user.getId() != customerId) {
             throw new UserNoAccess();
         }
-        return user.getReservations();
+        return user;
     }
 
     public List<LocalTime> getAvailableTimes(int restaurantId, int people, LocalDate date)
             throws RestaurantNotFound, DateTimeInThePast, BadPeopleNumber {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -85,6 +134,59 @@ public class ReservationService {
         return availableTimes.stream().sorted().toList();
     }
 
+    public AvailabilityCalendar getAvailabilityCalendar(int restaurantId, int people, LocalDate from, LocalDate to)
+            throws RestaurantNotFound, DateTimeInThePast, BadPeopleNumber {
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
+        if (restaurant == null) {
+            throw new RestaurantNotFound();
+        }
+
+        if (from.isBefore(LocalDate.now())) {
+            throw new DateTimeInThePast();
+        }
+        if (people <= 0) {
+            throw new BadPeopleNumber();
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= ServiceUtils.CALENDAR_MAX_DAYS) {
+            throw new IllegalArgumentException("invalid date range");
+        }
+
+        int openHours = 0;
+        for (int hour = restaurant.getStartTime().getHour(); hour <= restaurant.getEndTime().getHour(); hour++) {
+            openHours |= 1 << hour;
+        }
+
+        int[] days = new int[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        int[] occupied = new int[days.length];
+        for (Table table : restaurant.getTables()) {
+            if (table.getSeatsNumber() < people) {
+                continue;
+            }
+            Arrays.fill(occupied, 0);
+            for (Map.Entry<LocalDate, Integer> day : table.getOccupancy(from, to).entrySet()) {
+                occupied[(int) ChronoUnit.DAYS.between(from, day.getKey())] = day.getValue();
+            }
+            for (int i = 0; i < days.length; i++) {
+                days[i] |= openHours & ~occupied[i];
+            }
+        }
+        return new AvailabilityCalendar(from, to, people, days);
+    }
+
+    public List<Restaurant> getAvailableRestaurants(String location, int people, LocalDateTime datetime)
+            throws InvalidWorkingTime, DateTimeInThePast, BadPeopleNumber {
+        if (!ServiceUtils.validateWorkingTime(datetime.toLocalTime())) {
+            throw new InvalidWorkingTime();
+        }
+        if (datetime.isBefore(LocalDateTime.now())) {
+            throw new DateTimeInThePast();
+        }
+        if (people <= 0) {
+            throw new BadPeopleNumber();
+        }
+        return db.availability.find(location, datetime, people);
+    }
+
     public Reservation reserveTable(int restaurantId, int people, LocalDateTime datetime)
             throws UserNotFound, ManagerReservationNotAllowed, InvalidWorkingTime, RestaurantNotFound, TableNotFound,
             DateTimeInThePast, ReservationNotInOpenTimes {
@@ -103,7 +205,7 @@ public class ReservationService {
             throw new DateTimeInThePast();
         }
 
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -112,25 +214,43 @@ public class ReservationService {
             throw new ReservationNotInOpenTimes();
         }
 
-        Table table = findAvailableTable(restaurant, people, datetime);
-        if (table == null) {
+        List<Table> tables = restaurant.getTables().stream()
+                .filter(table -> table.getSeatsNumber() >= people)
+                .sorted(Comparator.comparingInt(Table::getSeatsNumber))
+                .toList();
+        Reservation reservation = journal.append(Journal.RESERVE, restaurant,
+                () -> findFreeTable(user, restaurant, tables, datetime),
+                reserved -> Journal.args(
+                        "reservationNumber", reserved.getReservationNumber(),
+                        "username", user.getUsername(),
+                        "restaurantName", restaurant.getName(),
+                        "tableNumber", reserved.getTable().getTableNumber(),
+                        "datetime", datetime.toString()
+                ), db::addReservation);
+        if (reservation == null) {
             throw new TableNotFound();
         }
-
-        Reservation reservation = new Reservation(user, restaurant, table, datetime);
-        user.addReservation(reservation);
-        table.addReservation(reservation);
         return reservation;
     }
 
+    private Reservation findFreeTable(User user, Restaurant restaurant, List<Table> tables, LocalDateTime datetime) {
+        for (Table table : tables) {
+            if (!table.isReserved(datetime)) {
+                return new Reservation(user, restaurant, table, datetime);
+            }
+        }
+        return null;
+    }
+
     public void cancelReservation(int reservationNumber) throws UserNotFound, ReservationNotFound, ReservationCannotBeCancelled {
         User user = userService.getCurrentUser();
         if (user == null) {
             throw new UserNotFound();
         }
 
-        Reservation reservation = user.getReservation(reservationNumber);
-        if (reservation == null) {
+        Reservation current = db.reservationsById.get(reservationNumber);
+        Reservation reservation = current != null ? current : db.archive.get(reservationNumber);
+        if (reservation == null || !reservation.getUser().equals(user) || reservation.isCancelled()) {
             throw new ReservationNotFound();
         }
 
@@ -138,12 +258,17 @@ public class ReservationService {
             throw new ReservationCannotBeCancelled();
         }
 
-        reservation.cancel();
+        Reservation cancelled = journal.append(Journal.CANCEL_RESERVATION, reservation.getRestaurant(),
+                () -> reservation.isCancelled() ? null : reservation,
+                r -> Journal.args("reservationNumber", reservationNumber), db::cancelReservation);
+        if (cancelled == null) {
+            throw new ReservationNotFound();
+        }
     }
 
     private List<LocalTime> getAvailableTableTimes(Table table, LocalDate date, Restaurant restaurant) {
-        Set<LocalTime> reserves = table.getReservations().stream()
-                .filter(r -> r.getDateTime().toLocalDate().equals(date) && !r.isCancelled())
+        Set<LocalTime> reserves = table.getReservations(date).stream()
+                .filter(r -> !r.isCancelled())
                 .map(r -> r.getDateTime().toLocalTime())
                 .collect(Collectors.toSet());
 
@@ -159,11 +284,4 @@ public class ReservationService {
         }
         return availableTimes;
     }
-
-    private Table findAvailableTable(Restaurant restaurant, int people, LocalDateTime datetime) {
-        return restaurant.getTables().stream()
-                .filter(table -> table.getSeatsNumber() >= people && !table.isReserved(datetime))
-                .min(Comparator.comparingInt(Table::getSeatsNumber))
-                .orElse(null);
-    }
 }
@@ -1,6 +1,12 @@
 package mizdooni.service;
 
+import jakarta.annotation.PostConstruct;
 import mizdooni.database.Database;
+import mizdooni.database.Journal;
+import mizdooni.database.IdBitmap;
+import mizdooni.database.RestaurantCatalog;
+import mizdooni.database.RestaurantSortIndex;
+import mizdooni.database.TextIndex;
 import mizdooni.exceptions.DuplicatedRestaurantName;
 import mizdooni.exceptions.InvalidWorkingTime;
 import mizdooni.exceptions.UserNotManager;
@@ -8,14 +14,20 @@ import mizdooni.model.Address;
 import mizdooni.model.Restaurant;
 import mizdooni.model.RestaurantSearchFilter;
 import mizdooni.model.User;
+import mizdooni.response.CursorPage;
 import mizdooni.response.PagedList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,21 +36,200 @@ public class RestaurantService {
     private Database db;
     @Autowired
     private UserService userService;
+    @Autowired
+    private Journal journal;
+    @Value("${mizdooni.cache.restaurant-pages:1024}")
+    private int pageCacheCapacity;
+    private VersionedCache<PageKey, PagedList<Restaurant>> pageCache;
+
+    private record PageKey(int page, String name, boolean ignoreCase, String type, String country, String location,
+                           String sort, boolean ascending) {
+        static PageKey of(int page, RestaurantSearchFilter filter) {
+            String sort = "rating".equals(filter.getSort()) || "reviews".equals(filter.getSort()) ? filter.getSort() : null;
+            return new PageKey(page, filter.getName(), filter.getName() != null && filter.isIgnoreCase(),
+                    filter.getType(), filter.getCountry(), filter.getLocation(), sort,
+                    sort != null && filter.isAscending());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        pageCache = new VersionedCache<>(pageCacheCapacity);
+    }
 
     public Restaurant getRestaurant(int restaurantId) {
-        return ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        return ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
     }
 
     public PagedList<Restaurant> getRestaurants(int page, RestaurantSearchFilter filter) {
-        List<Restaurant> restaurants = db.restaurants;
-        if (filter != null) {
-            restaurants = filter.filter(restaurants);
+        if (page < 1) {
+            throw new IllegalArgumentException("invalid page number");
+        }
+        if (filter == null) {
+            filter = new RestaurantSearchFilter();
+        }
+
+        PageKey key = PageKey.of(page, filter);
+        long version = db.getRestaurantsVersion() + (key.sort() == null ? 0 : db.getReviewsVersion());
+        PagedList<Restaurant> cached = pageCache.get(key, version);
+        if (cached != null) {
+            return cached;
+        }
+        PagedList<Restaurant> restaurants = findRestaurants(page, filter);
+        pageCache.put(key, version, restaurants);
+        return restaurants;
+    }
+
+    public VersionedCache.Stats getPageCacheStats() {
+        return pageCache.stats();
+    }
+
+    public CursorPage<Restaurant> getRestaurantsAfter(String cursor, RestaurantSearchFilter filter) {
+        if (filter == null) {
+            filter = new RestaurantSearchFilter();
+        }
+        RestaurantSortIndex index = null;
+        if ("rating".equals(filter.getSort())) {
+            index = db.restaurantsByRating;
+        } else if ("reviews".equals(filter.getSort())) {
+            index = db.restaurantsByReviews;
+        }
+        String scope = index == null ? "id" : filter.getSort() + (filter.isAscending() ? "+" : "-");
+        Cursor after = Cursor.decode(cursor, scope);
+
+        RestaurantCatalog catalog = db.getCatalog();
+        IdBitmap candidates = selectCandidates(catalog, filter);
+        Iterator<Restaurant> ordered;
+        if (index != null) {
+            ordered = after == null ? index.iterator(filter.isAscending()) :
+                    index.iterator(filter.isAscending(), after.key(), (int) after.id());
+        } else if (candidates != null) {
+            ordered = restaurantsOf(candidates, after == null ? 0 : (int) after.id() + 1);
+        } else {
+            ordered = (after == null ? db.restaurantsById : db.restaurantsById.tailMap((int) after.id(), false))
+                    .values().iterator();
+        }
+        Predicate<Restaurant> matches = matcher(catalog, candidates, filter);
+
+        List<Restaurant> pageList = new ArrayList<>(ServiceUtils.RESTAURANT_PAGE_SIZE);
+        boolean hasNext = false;
+        while (!hasNext && ordered.hasNext()) {
+            Restaurant restaurant = ordered.next();
+            if (matches.test(restaurant)) {
+                if (pageList.size() < ServiceUtils.RESTAURANT_PAGE_SIZE) {
+                    pageList.add(restaurant);
+                } else {
+                    hasNext = true;
+                }
+            }
+        }
+
+        String next = null;
+        if (hasNext) {
+            Restaurant last = pageList.getLast();
+            next = Cursor.encode(scope, index == null ? 0 : index.keyOf(last), last.getId());
+        }
+        return new CursorPage<>(pageList, next);
+    }
+
+    private IdBitmap selectCandidates(RestaurantCatalog catalog, RestaurantSearchFilter filter) {
+        IdBitmap candidates = catalog.facets().select(filter.getType(), filter.getCountry(), filter.getLocation());
+        IdBitmap nameCandidates = filter.getName() == null ? null : catalog.names().candidates(filter.getName());
+        if (nameCandidates != null) {
+            candidates = candidates == null ? nameCandidates : candidates.and(nameCandidates);
+        }
+        return candidates;
+    }
+
+    private Predicate<Restaurant> matcher(RestaurantCatalog catalog, IdBitmap candidates,
+                                          RestaurantSearchFilter filter) {
+        return r -> (candidates == null ? catalog.contains(r) : candidates.contains(r.getId())) &&
+                filter.matchesName(r);
+    }
+
+    private PagedList<Restaurant> findRestaurants(int page, RestaurantSearchFilter filter) {
+        RestaurantCatalog catalog = db.getCatalog();
+        IdBitmap candidates = selectCandidates(catalog, filter);
+
+        Iterator<Restaurant> ordered;
+        if ("rating".equals(filter.getSort())) {
+            ordered = db.restaurantsByRating.iterator(filter.isAscending());
+        } else if ("reviews".equals(filter.getSort())) {
+            ordered = db.restaurantsByReviews.iterator(filter.isAscending());
+        } else if (candidates != null) {
+            ordered = restaurantsOf(candidates);
+        } else {
+            ordered = catalog.restaurants().iterator();
+        }
+        Predicate<Restaurant> matches = matcher(catalog, candidates, filter);
+
+        int start = (page - 1) * ServiceUtils.RESTAURANT_PAGE_SIZE;
+        int end = start + ServiceUtils.RESTAURANT_PAGE_SIZE;
+        List<Restaurant> pageList = new ArrayList<>(ServiceUtils.RESTAURANT_PAGE_SIZE);
+        int count = 0;
+        while (count < end && ordered.hasNext()) {
+            Restaurant restaurant = ordered.next();
+            if (matches.test(restaurant)) {
+                if (count >= start) {
+                    pageList.add(restaurant);
+                }
+                count++;
+            }
+        }
+
+        int total;
+        if (filter.getName() == null) {
+            total = candidates == null ? catalog.restaurants().size() : candidates.cardinality();
+        } else {
+            Iterator<Restaurant> remaining = ordered;
+            total = count;
+            if (candidates != null) {
+                remaining = restaurantsOf(candidates);
+                total = 0;
+            }
+            while (remaining.hasNext()) {
+                if (matches.test(remaining.next())) {
+                    total++;
+                }
+            }
+        }
+        return new PagedList<>(pageList, page, ServiceUtils.RESTAURANT_PAGE_SIZE, total);
+    }
+
+    public PagedList<Restaurant> searchRestaurants(String query, int page) {
+        if (page < 1) {
+            throw new IllegalArgumentException("invalid page number");
         }
-        return new PagedList<>(restaurants, page, ServiceUtils.RESTAURANT_PAGE_SIZE);
+        int start = (page - 1) * ServiceUtils.RESTAURANT_PAGE_SIZE;
+        TextIndex.Result result = db.restaurantTexts.search(query, start + ServiceUtils.RESTAURANT_PAGE_SIZE);
+        List<Restaurant> pageList = result.hits().stream()
+                .skip(start)
+                .map(hit -> db.restaurantsById.get(hit.id()))
+                .toList();
+        return new PagedList<>(pageList, page, ServiceUtils.RESTAURANT_PAGE_SIZE, result.total());
+    }
+
+    private Iterator<Restaurant> restaurantsOf(IdBitmap ids) {
+        return restaurantsOf(ids, 0);
+    }
+
+    private Iterator<Restaurant> restaurantsOf(IdBitmap ids, int from) {
+        PrimitiveIterator.OfInt iterator = ids.iterator(from);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Restaurant next() {
+                return db.restaurantsById.get(iterator.nextInt());
+            }
+        };
     }
 
     public List<Restaurant> getManagerRestaurants(int managerId) {
-        return db.restaurants.stream().filter(r -> r.getManager().getId() == managerId).collect(Collectors.toList());
+        return db.getCatalog().restaurants().stream().filter(r -> r.getManager().getId() == managerId).collect(Collectors.toList());
     }
 
     public int addRestaurant(String name, String type, LocalTime startTime, LocalTime endTime, String description,
@@ -56,21 +247,38 @@ public class RestaurantService {
             throw new InvalidWorkingTime();
         }
 
-        Restaurant restaurant = new Restaurant(name, manager, type, startTime, endTime, description, address, imageLink);
-        db.restaurants.add(restaurant);
+        Restaurant restaurant = journal.append(Journal.ADD_RESTAURANT, Journal.ADD_RESTAURANT, () -> {
+            if (restaurantExists(name)) {
+                return null;
+            }
+            return new Restaurant(name, manager, type, startTime, endTime, description, address, imageLink);
+        }, added -> Journal.args(
+                "name", name,
+                "managerUsername", manager.getUsername(),
+                "type", type,
+                "startTime", startTime.toString(),
+                "endTime", endTime.toString(),
+                "description", description,
+                "country", address.getCountry(),
+                "city", address.getCity(),
+                "street", address.getStreet(),
+                "image", imageLink
+        ), db::addRestaurant);
+        if (restaurant == null) {
+            throw new DuplicatedRestaurantName();
+        }
         return restaurant.getId();
     }
 
     public boolean restaurantExists(String name) {
-        return db.restaurants.stream().anyMatch(r -> r.getName().equals(name));
+        return db.getCatalog().restaurants().stream().anyMatch(r -> r.getName().equals(name));
     }
 
     public Set<String> getRestaurantTypes() {
-        return db.restaurants.stream().map(Restaurant::getType).collect(Collectors.toSet());
+        return db.getCatalog().facets().getTypes();
     }
 
     public Map<String, Set<String>> getRestaurantLocations() {
-        return db.restaurants.stream().collect(Collectors.groupingBy(r -> r.getAddress().getCountry(),
-                Collectors.mapping(r -> r.getAddress().getCity(), Collectors.toSet())));
+        return db.getCatalog().facets().getLocations();
     }
 }
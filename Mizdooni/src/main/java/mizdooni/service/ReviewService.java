@@ -1,11 +1,14 @@
 package mizdooni.service;
 
 import mizdooni.database.Database;
+import mizdooni.database.Journal;
 import mizdooni.exceptions.*;
 import mizdooni.model.Rating;
 import mizdooni.model.Restaurant;
 import mizdooni.model.Review;
+import mizdooni.model.ReviewList;
 import mizdooni.model.User;
+import mizdooni.response.CursorPage;
 import mizdooni.response.PagedList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,13 +17,17 @@ import java.time.LocalDateTime;
 
 @Service
 public class ReviewService {
+    private static final String REVIEWS_CURSOR = "reviews";
+
     @Autowired
     private Database db;
     @Autowired
     private UserService userService;
+    @Autowired
+    private Journal journal;
 
     public PagedList<Review> getReviews(int restaurantId, int page) throws RestaurantNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -28,6 +35,17 @@ public class ReviewService {
         return reviews;
     }
 
+    public CursorPage<Review> getReviewsAfter(int restaurantId, String cursor) throws RestaurantNotFound {
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
+        if (restaurant == null) {
+            throw new RestaurantNotFound();
+        }
+        Cursor after = Cursor.decode(cursor, REVIEWS_CURSOR);
+        ReviewList.Page page = restaurant.getReviewsAfter(after == null ? 0 : after.id(), ServiceUtils.REVIEW_PAGE_SIZE);
+        String next = page.hasNext() ? Cursor.encode(REVIEWS_CURSOR, 0, page.lastSequence()) : null;
+        return new CursorPage<>(page.reviews(), next);
+    }
+
     public void addReview(int restaurantId, Rating rating, String comment)
             throws UserNotFound, ManagerCannotReview, RestaurantNotFound, InvalidReviewRating, UserHasNotReserved {
         User user = userService.getCurrentUser();
@@ -38,11 +56,11 @@ public class ReviewService {
             throw new ManagerCannotReview();
         }
 
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
-        if (!user.checkReserved(restaurant)) {
+        if (!user.checkReserved(restaurant) && !db.archive.hasReserved(user, restaurant)) {
             throw new UserHasNotReserved();
         }
 
@@ -59,7 +77,17 @@ public class ReviewService {
             throw new InvalidReviewRating("Overall");
         }
 
-        Review review = new Review(user, rating, comment, LocalDateTime.now());
-        restaurant.addReview(review);
+        LocalDateTime datetime = LocalDateTime.now();
+        Review review = new Review(user, rating, comment, datetime);
+        journal.append(Journal.ADD_REVIEW, restaurant, () -> review, added -> Journal.args(
+                "restaurantName", restaurant.getName(),
+                "username", user.getUsername(),
+                "foodRate", rating.food,
+                "serviceRate", rating.service,
+                "ambianceRate", rating.ambiance,
+                "overallRate", rating.overall,
+                "comment", comment,
+                "datetime", datetime.toString()
+        ), added -> db.addReview(restaurant, added));
     }
 }
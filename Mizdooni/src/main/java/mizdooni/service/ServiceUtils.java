@@ -14,6 +14,7 @@ import java.util.Map;
 public class ServiceUtils {
     static final int REVIEW_PAGE_SIZE = 5;
     static final int RESTAURANT_PAGE_SIZE = 12;
+    static final int CALENDAR_MAX_DAYS = 92;
 
     public static boolean validateUsername(String username) {
         String usernameFormat = "^\\w+$";
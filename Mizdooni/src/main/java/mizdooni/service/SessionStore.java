@@ -0,0 +1,151 @@
+package mizdooni.service;
+
+import jakarta.annotation.PreDestroy;
+import mizdooni.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SessionStore {
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final long idleTimeoutMillis;
+    private final long tickMillis;
+    private final Set<String>[] wheel;
+    private volatile long currentTick;
+    private final ScheduledExecutorService ticker;
+
+    @Autowired
+    public SessionStore(@Value("${mizdooni.session.idle-timeout:30m}") Duration idleTimeout,
+                        @Value("${mizdooni.session.tick:1m}") Duration tick) {
+        this(idleTimeout.toMillis(), tick.toMillis(), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    SessionStore(long idleTimeoutMillis, long tickMillis, boolean startTicker) {
+        if (idleTimeoutMillis <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("invalid session timeout");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.tickMillis = tickMillis;
+        this.wheel = new Set[(int) (idleTimeoutMillis / tickMillis) + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+
+        if (startTicker) {
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(() -> advance(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            ticker = null;
+        }
+    }
+
+    public String create(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        sessions.put(token, new Session(user, now));
+        schedule(token, now + idleTimeoutMillis);
+        return token;
+    }
+
+    public User resolve(String token) {
+        return resolve(token, System.currentTimeMillis());
+    }
+
+    User resolve(String token, long now) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (now - session.lastAccess >= idleTimeoutMillis) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.touch(now, tickMillis);
+        return session.user;
+    }
+
+    public boolean invalidate(String token) {
+        return sessions.remove(token) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    synchronized void advance(long now) {
+        long target = now / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            Set<String> bucket = wheel[(int) (currentTick % wheel.length)];
+            for (String token : bucket) {
+                bucket.remove(token);
+                expireOrReschedule(token, now);
+            }
+        }
+    }
+
+    private void expireOrReschedule(String token, long now) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return;
+        }
+        long deadline = session.lastAccess + idleTimeoutMillis;
+        if (deadline <= now) {
+            sessions.remove(token, session);
+        } else {
+            schedule(token, deadline);
+        }
+    }
+
+    private void schedule(String token, long deadline) {
+        long tick = Math.max(deadline / tickMillis + 1, currentTick + 1);
+        wheel[(int) (tick % wheel.length)].add(token);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private static class Session {
+        private final User user;
+        private volatile long lastAccess;
+
+        Session(User user, long lastAccess) {
+            this.user = user;
+            this.lastAccess = lastAccess;
+        }
+
+        void touch(long now, long granularity) {
+            if (now - lastAccess >= granularity) {
+                lastAccess = now;
+            }
+        }
+    }
+}
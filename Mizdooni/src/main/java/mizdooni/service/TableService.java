@@ -1,6 +1,7 @@
 package mizdooni.service;
 
 import mizdooni.database.Database;
+import mizdooni.database.Journal;
 import mizdooni.exceptions.InvalidManagerRestaurant;
 import mizdooni.exceptions.RestaurantNotFound;
 import mizdooni.exceptions.UserNotManager;
@@ -18,9 +19,11 @@ public class TableService {
     private Database db;
     @Autowired
     private UserService userService;
+    @Autowired
+    private Journal journal;
 
     public List<Table> getTables(int restaurantId) throws RestaurantNotFound {
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
         if (restaurant == null) {
             throw new RestaurantNotFound();
         }
@@ -30,7 +33,7 @@ public class TableService {
     public void addTable(int restaurantId, int seatsNumber)
             throws RestaurantNotFound, UserNotManager, InvalidManagerRestaurant {
         User manager = userService.getCurrentUser();
-        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.restaurants);
+        Restaurant restaurant = ServiceUtils.findRestaurant(restaurantId, db.getCatalog().restaurants());
 
         if (restaurant == null) {
             throw new RestaurantNotFound();
@@ -42,7 +45,12 @@ public class TableService {
             throw new InvalidManagerRestaurant();
         }
 
-        Table table = new Table(0, restaurantId, seatsNumber);
-        restaurant.addTable(table);
+        journal.append(Journal.ADD_TABLE, restaurant,
+                () -> new Table(restaurant.getTables().size() + 1, restaurantId, seatsNumber),
+                added -> Journal.args(
+                        "restaurantName", restaurant.getName(),
+                        "tableNumber", added.getTableNumber(),
+                        "seatsNumber", seatsNumber
+                ), added -> db.addTable(restaurant, added));
     }
 }
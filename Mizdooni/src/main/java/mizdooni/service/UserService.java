@@ -1,28 +1,60 @@
 package mizdooni.service;
 
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import mizdooni.database.Database;
+import mizdooni.database.Journal;
 import mizdooni.exceptions.DuplicatedUsernameEmail;
 import mizdooni.exceptions.InvalidEmailFormat;
 import mizdooni.exceptions.InvalidUsernameFormat;
 import mizdooni.model.Address;
 import mizdooni.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Service
 public class UserService {
+    public static final String SESSION_COOKIE = "MIZDOONI_SESSION";
+    public static final String SESSION_HEADER = "X-Session-Token";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String TOKEN_ATTRIBUTE = UserService.class.getName() + ".token";
+    private static final String USER_ATTRIBUTE = UserService.class.getName() + ".user";
+
     @Autowired
     private Database db;
-    private User currentUser = null;
+    @Autowired
+    private SessionStore sessions;
+    @Autowired
+    private Journal journal;
 
     public User getCurrentUser() {
-        return currentUser;
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(USER_ATTRIBUTE) == null) {
+            String token = readToken(request);
+            User user = token == null ? null : sessions.resolve(token);
+            bindSession(request, user == null ? null : token, user);
+        }
+        return request.getAttribute(USER_ATTRIBUTE) instanceof User user ? user : null;
     }
 
     public boolean login(String username, String password) {
         User user = db.users.stream().filter(u -> u.getUsername().equals(username)).findFirst().orElse(null);
         if (user != null && user.checkPassword(password)) {
-            currentUser = user;
+            String token = sessions.create(user);
+            ServletRequestAttributes attributes = currentRequest();
+            if (attributes != null) {
+                bindSession(attributes.getRequest(), token, user);
+                writeToken(attributes.getResponse(), token, -1);
+            }
             return true;
         }
         return false;
@@ -40,16 +72,34 @@ public class UserService {
             throw new DuplicatedUsernameEmail();
         }
 
-        User user = new User(username, password, email, address, role);
-        db.users.add(user);
+        User user = journal.append(Journal.SIGNUP, Journal.SIGNUP, () -> {
+            if (ServiceUtils.userIsTaken(username, email, db.users)) {
+                return null;
+            }
+            return new User(username, password, email, address, role);
+        }, added -> Journal.args(
+                "username", username,
+                "password", password,
+                "email", email,
+                "country", address.getCountry(),
+                "city", address.getCity(),
+                "role", role.name()
+        ), db.users::add);
+        if (user == null) {
+            throw new DuplicatedUsernameEmail();
+        }
     }
 
     public boolean logout() {
-        if (currentUser != null) {
-            currentUser = null;
-            return true;
+        if (getCurrentUser() == null) {
+            return false;
         }
-        return false;
+        ServletRequestAttributes attributes = currentRequest();
+        HttpServletRequest request = attributes.getRequest();
+        sessions.invalidate((String) request.getAttribute(TOKEN_ATTRIBUTE));
+        bindSession(request, null, null);
+        writeToken(attributes.getResponse(), "", 0);
+        return true;
     }
 
     public boolean usernameExists(String username) {
@@ -59,4 +109,45 @@ public class UserService {
     public boolean emailExists(String email) {
         return db.users.stream().anyMatch(u -> u.getEmail().equals(email));
     }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+
+    private static void bindSession(HttpServletRequest request, String token, User user) {
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        request.setAttribute(USER_ATTRIBUTE, user == null ? Boolean.FALSE : user);
+    }
+
+    private static String readToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        String header = request.getHeader(SESSION_HEADER);
+        if (header != null) {
+            return header;
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (cookie.getName().equals(SESSION_COOKIE)) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void writeToken(HttpServletResponse response, String token, int maxAge) {
+        if (response == null) {
+            return;
+        }
+        Cookie cookie = new Cookie(SESSION_COOKIE, token);
+        cookie.setHttpOnly(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(maxAge);
+        response.addCookie(cookie);
+        response.setHeader(SESSION_HEADER, token);
+    }
 }
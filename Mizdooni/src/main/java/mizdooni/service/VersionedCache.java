@@ -0,0 +1,100 @@
+package mizdooni.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class VersionedCache<K, V> {
+    public record Stats(long hits, long misses, double hitRate, int size, int capacity) {
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long version;
+        private final V value;
+        private volatile boolean referenced;
+
+        private Entry(K key, long version, V value) {
+            this.key = key;
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VersionedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("invalid cache capacity");
+        }
+        this.capacity = capacity;
+    }
+
+    public V get(K key, long version) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null && entry.version != version) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, long version, V value) {
+        Entry<K, V> created = new Entry<>(key, version, value);
+        Entry<K, V> installed = entries.compute(key,
+                (k, current) -> current == null || current.version <= version ? created : current);
+        if (installed == created) {
+            clock.offer(created);
+            queued.incrementAndGet();
+            evict();
+        }
+    }
+
+    private void evict() {
+        for (int budget = 2 * queued.get(); budget > 0; budget--) {
+            boolean full = entries.size() > capacity;
+            if (!full && queued.get() <= 2 * capacity) {
+                return;
+            }
+            Entry<K, V> entry = clock.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entries.get(entry.key) != entry) {
+                queued.decrementAndGet();
+            } else if (!full) {
+                clock.offer(entry);
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(entry);
+            } else {
+                entries.remove(entry.key, entry);
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new Stats(hitCount, missCount, requests == 0 ? 0 : (double) hitCount / requests, entries.size(),
+                capacity);
+    }
+}
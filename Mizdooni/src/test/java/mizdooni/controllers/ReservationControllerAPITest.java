@@ -0,0 +1,146 @@
+package mizdooni.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mizdooni.database.Database;
+import mizdooni.model.*;
+import mizdooni.response.AvailabilityCalendar;
+import mizdooni.service.ReservationService;
+import mizdooni.service.RestaurantService;
+import mizdooni.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReservationController.class)
+@DirtiesContext
+public class ReservationControllerAPITest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+
+    @MockBean
+    private RestaurantService restaurantService;
+    @MockBean
+    private ReservationService reservationService;
+    @MockBean
+    private Database db;
+    @MockBean
+    private UserService userService;
+
+    private Restaurant restaurant;
+    private Table table;
+    private User client;
+
+    @BeforeEach
+    public void setup() {
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("manager", "password", "manager@example.com", address, User.Role.manager);
+        client = new User("client", "password", "client@example.com", address, User.Role.client);
+        restaurant = new Restaurant("restaurant", manager, "type", LocalTime.of(8, 0), LocalTime.of(22, 0),
+                "description", address, "image");
+        table = new Table(1, restaurant.getId(), 4);
+        restaurant.addTable(table);
+        for (int day = 1; day <= 5; day++) {
+            Reservation reservation = new Reservation(client, restaurant, table, LocalDateTime.of(2024, 6, day, 12, 0));
+            client.addReservation(reservation);
+            table.addReservation(reservation);
+        }
+
+        when(userService.getCurrentUser()).thenReturn(manager);
+        when(restaurantService.getRestaurant(restaurant.getId())).thenReturn(restaurant);
+    }
+
+    @Test
+    @DisplayName("Test Streaming Reservations as NDJSON Within Date Range")
+    public void testStreamReservations_DateRange_Ndjson() throws Exception {
+        LocalDate from = LocalDate.of(2024, 6, 2);
+        LocalDate to = LocalDate.of(2024, 6, 4);
+        when(reservationService.getReservations(restaurant.getId(), 1, from, to))
+                .thenReturn(table.getReservations(from, to));
+
+        MvcResult result = mockMvc.perform(get("/reserves/" + restaurant.getId())
+                        .param("table", "1").param("from", "2024-06-02").param("to", "2024-06-04")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(body.endsWith("\n"));
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = mapper.readTree(lines[i]);
+            assertEquals("2024-06-0" + (i + 2) + " 12:00", node.get("datetime").asText());
+            assertEquals("client", node.get("user").get("username").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Streaming Customer Reservations as NDJSON")
+    public void testStreamCustomerReservations_Ndjson() throws Exception {
+        when(reservationService.getCustomerReservations(eq(client.getId()), any(), any()))
+                .thenReturn(List.copyOf(client.getReservations()));
+
+        MvcResult result = mockMvc.perform(get("/reserves/customer/" + client.getId())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(5, body.split("\n").length);
+    }
+
+    @Test
+    @DisplayName("Test Streaming Reservations With Bad Date Returns JSON Error")
+    public void testStreamReservations_BadDate_BadRequest() throws Exception {
+        mockMvc.perform(get("/reserves/" + restaurant.getId())
+                        .param("table", "1").param("from", "2024-13-01")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ControllerUtils.PARAMS_BAD_TYPE));
+    }
+
+    @Test
+    @DisplayName("Test Availability Calendar Returns One Bitmask Per Day")
+    public void testAvailabilityCalendar_Successful() throws Exception {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        LocalDate to = LocalDate.of(2030, 1, 3);
+        when(reservationService.getAvailabilityCalendar(restaurant.getId(), 2, from, to))
+                .thenReturn(new AvailabilityCalendar(from, to, 2, new int[]{0x700, 0, 0x400}));
+
+        mockMvc.perform(get("/reserves/" + restaurant.getId() + "/calendar")
+                        .param("people", "2").param("from", "2030-01-01").param("to", "2030-01-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.from").value("2030-01-01"))
+                .andExpect(jsonPath("$.data.days.length()").value(3))
+                .andExpect(jsonPath("$.data.days[0]").value(0x700))
+                .andExpect(jsonPath("$.data.days[1]").value(0));
+    }
+}
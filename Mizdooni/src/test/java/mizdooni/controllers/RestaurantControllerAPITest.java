@@ -17,7 +17,9 @@ import mizdooni.exceptions.InvalidWorkingTime;
 import mizdooni.exceptions.UserNotManager;
 import mizdooni.model.Address;
 import mizdooni.model.Restaurant;
+import mizdooni.model.Table;
 import mizdooni.model.User;
+import mizdooni.response.CursorPage;
 import mizdooni.response.PagedList;
 import mizdooni.response.ResponseException;
 import mizdooni.service.RestaurantService;
@@ -77,7 +79,8 @@ class RestaurantControllerAPITest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("restaurant found"))
                 .andExpect(jsonPath("$.data.name").value(restaurant.getName()))
-                .andExpect(jsonPath("$.data.type").value(restaurant.getType()));
+                .andExpect(jsonPath("$.data.type").value(restaurant.getType()))
+                .andExpect(jsonPath("$.data.averageRating.overall").value(restaurant.getAverageOverall()));
     }
 
     @Test
@@ -91,6 +94,27 @@ class RestaurantControllerAPITest {
                 .andExpect(jsonPath("$.message").value("restaurant not found"));
     }
 
+    @Test
+    void testGetRestaurant_MatchingETag_NotModified() throws Exception {
+        int restaurantId = restaurant.getId();
+        when(restaurantService.getRestaurant(restaurantId)).thenReturn(restaurant);
+
+        String etag = mockMvc.perform(get("/restaurants/" + restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/restaurants/" + restaurantId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        restaurant.addTable(new Table(0, restaurantId, 4));
+        mockMvc.perform(get("/restaurants/" + restaurantId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value(restaurant.getName()));
+    }
+
     // --------------------------- Get Restaurants --------------------------- //
 
     @Test
@@ -148,6 +172,53 @@ class RestaurantControllerAPITest {
                 .andExpect(jsonPath("$.error").value("NullPointerException"));
     }
 
+    @Test
+    void testGetRestaurantsWithCursor_Successful() throws Exception {
+        CursorPage<Restaurant> returnedPage = new CursorPage<>(List.of(restaurant2), "next");
+        when(restaurantService.getRestaurantsAfter(eq("abc"), any())).thenReturn(returnedPage);
+
+        mockMvc.perform(get("/restaurants").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("restaurants listed"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.pageList[0].name").value(restaurant2.getName()));
+    }
+
+    @Test
+    void testGetRestaurantsWithCursor_InvalidCursor_BadRequest() throws Exception {
+        when(restaurantService.getRestaurantsAfter(eq("bad"), any()))
+                .thenThrow(new IllegalArgumentException("invalid cursor"));
+
+        mockMvc.perform(get("/restaurants").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("invalid cursor"));
+    }
+
+    // --------------------------- Search Restaurants --------------------------- //
+
+    @Test
+    void testSearchRestaurants_Successful() throws Exception {
+        int page = 1;
+        PagedList<Restaurant> returnedPage = new PagedList<>(List.of(restaurant2), page, 12, 1);
+        when(restaurantService.searchRestaurants("goosfandi2", page)).thenReturn(returnedPage);
+
+        mockMvc.perform(get("/restaurants/search").param("q", "goosfandi2").param("page", Integer.toString(page)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("restaurants found"))
+                .andExpect(jsonPath("$.data.totalPages").value(1))
+                .andExpect(jsonPath("$.data.pageList[0].name").value(restaurant2.getName()));
+    }
+
+    @Test
+    void testSearchRestaurants_BlankQuery_BadRequest() throws Exception {
+        mockMvc.perform(get("/restaurants/search").param("q", " ").param("page", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value(ControllerUtils.PARAMS_MISSING));
+    }
+
     // --------------------------- Get Manager Restaurants --------------------------- //
 
     @Test
@@ -0,0 +1,139 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityIndexTest {
+    private static final LocalDateTime DINNER = LocalDateTime.of(2030, 1, 4, 20, 0);
+
+    private Database db;
+    private User client;
+    private Restaurant kababi;
+    private Restaurant pizzeria;
+    private Restaurant cafe;
+
+    @BeforeEach
+    void setUp() {
+        db = new Database("", Path.of("target", "no-seed").toString());
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("manager", "pass", "manager@example.com", address, User.Role.manager);
+        client = new User("client", "pass", "client@example.com", address, User.Role.client);
+
+        kababi = addRestaurant("Kababi", manager, "Tehran", LocalTime.of(12, 0), LocalTime.of(23, 0), 2, 4);
+        pizzeria = addRestaurant("Pizzeria", manager, "Tehran", LocalTime.of(12, 0), LocalTime.of(23, 0), 6);
+        cafe = addRestaurant("Cafe", manager, "Tehran", LocalTime.of(8, 0), LocalTime.of(18, 0), 4);
+        addRestaurant("Shirazi", manager, "Shiraz", LocalTime.of(12, 0), LocalTime.of(23, 0), 8);
+    }
+
+    private Restaurant addRestaurant(String name, User manager, String city, LocalTime start, LocalTime end,
+                                     int... seats) {
+        Restaurant restaurant = new Restaurant(name, manager, "Iranian", start, end, "description",
+                new Address("Iran", city, "street"), null);
+        db.addRestaurant(restaurant);
+        for (int seatsNumber : seats) {
+            db.addTable(restaurant, new Table(0, restaurant.getId(), seatsNumber));
+        }
+        return restaurant;
+    }
+
+    private Reservation reserve(Restaurant restaurant, int tableNumber) {
+        Reservation reservation = new Reservation(client, restaurant, restaurant.getTable(tableNumber), DINNER);
+        assertTrue(db.addReservation(reservation));
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Test Open Restaurants With Enough Seats Are Found")
+    void testFindsOpenRestaurants() {
+        assertEquals(List.of(kababi, pizzeria), db.availability.find("Tehran", DINNER, 4));
+        assertEquals(List.of(pizzeria), db.availability.find("Tehran", DINNER, 5));
+        assertEquals(List.of(kababi, pizzeria, cafe), db.availability.find("Tehran", DINNER.withHour(12), 2));
+        assertTrue(db.availability.find("Tehran", DINNER, 10).isEmpty());
+        assertTrue(db.availability.find("Tabriz", DINNER, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Booking And Cancelling Update Availability")
+    void testBookingAndCancelling() {
+        Reservation large = reserve(kababi, 2);
+        assertEquals(List.of(pizzeria), db.availability.find("Tehran", DINNER, 4));
+        assertEquals(List.of(kababi, pizzeria), db.availability.find("Tehran", DINNER, 2));
+        assertEquals(List.of(kababi, pizzeria), db.availability.find("Tehran", DINNER.plusHours(1), 4));
+
+        reserve(kababi, 1);
+        assertEquals(List.of(pizzeria), db.availability.find("Tehran", DINNER, 2));
+
+        assertTrue(db.cancelReservation(large));
+        assertEquals(List.of(kababi, pizzeria), db.availability.find("Tehran", DINNER, 4));
+        assertFalse(db.cancelReservation(large));
+    }
+
+    @Test
+    @DisplayName("Test New Table Frees A Booked Restaurant")
+    void testNewTable() {
+        reserve(pizzeria, 1);
+        assertEquals(List.of(kababi), db.availability.find("Tehran", DINNER, 4));
+
+        db.addTable(pizzeria, new Table(0, pizzeria.getId(), 4));
+        assertEquals(List.of(kababi, pizzeria), db.availability.find("Tehran", DINNER, 4));
+        assertTrue(db.availability.find("Tehran", DINNER, 6).isEmpty());
+        assertEquals(List.of(pizzeria), db.availability.find("Tehran", DINNER.plusDays(1), 6));
+    }
+
+    @Test
+    @DisplayName("Test Past Slots Are Evicted And Not Recorded")
+    void testEviction() {
+        reserve(kababi, 2);
+        reserve(pizzeria, 1);
+        assertEquals(4, db.availability.bookedSlots());
+
+        db.availability.evictBefore(DINNER.toLocalDate().plusDays(1));
+        assertEquals(0, db.availability.bookedSlots());
+
+        LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(20, 0);
+        db.restoreReservation(new Reservation(client, cafe, cafe.getTable(1), yesterday));
+        assertEquals(0, db.availability.bookedSlots());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Bookings In One City Are All Recorded")
+    void testConcurrentBookings() throws Exception {
+        User manager = kababi.getManager();
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            restaurants.add(addRestaurant("Busy " + i, manager, "Isfahan", LocalTime.of(12, 0), LocalTime.of(23, 0),
+                    2));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Restaurant restaurant : restaurants) {
+                results.add(executor.submit(() -> db.addReservation(
+                        new Reservation(client, restaurant, restaurant.getTable(1), DINNER))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(db.availability.find("Isfahan", DINNER, 1).isEmpty());
+        assertEquals(restaurants, db.availability.find("Isfahan", DINNER.plusHours(1), 2));
+    }
+}
@@ -0,0 +1,162 @@
+package mizdooni.database;
+
+import mizdooni.model.Restaurant;
+import mizdooni.model.Review;
+import mizdooni.model.Table;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataLoaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Test Seed Data Is Loaded From The Classpath")
+    public void testClasspathSeed() {
+        Database db = new Database();
+
+        assertFalse(db.users.isEmpty());
+        assertFalse(db.getCatalog().restaurants().isEmpty());
+        for (Restaurant restaurant : db.getCatalog().restaurants()) {
+            assertNotNull(restaurant.getManager());
+            assertFalse(restaurant.getTables().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Seed Data Is Loaded From A Directory And Resolved By Name")
+    public void testDirectorySeed() throws IOException {
+        Files.writeString(dir.resolve("users.json"), """
+                [
+                  {"username": "manager", "password": "p", "email": "m@example.com", "role": "manager",
+                   "address": {"country": "Iran", "city": "Tehran"}},
+                  {"username": "client", "password": "p", "email": "c@example.com", "role": "client",
+                   "address": {"country": "Iran", "city": "Shiraz"}}
+                ]
+                """);
+        Files.writeString(dir.resolve("restaurants.json"), """
+                [
+                  {"name": "Kababi", "managerUsername": "manager", "type": "Iranian", "startTime": "08:00",
+                   "endTime": "23:00", "description": "kabab", "image": "k.jpg",
+                   "address": {"country": "Iran", "city": "Tehran", "street": "Kargar"}}
+                ]
+                """);
+        Files.writeString(dir.resolve("tables.json"), """
+                [
+                  {"restaurantName": "Kababi", "tableNumber": 1, "seatsNumber": 4},
+                  {"restaurantName": "Kababi", "tableNumber": 2, "seatsNumber": 6}
+                ]
+                """);
+        Files.writeString(dir.resolve("reviews.json"), """
+                [
+                  {"restaurantName": "Kababi", "username": "client", "foodRate": 5, "serviceRate": 4,
+                   "ambianceRate": 3, "overallRate": 4.5, "comment": "great"}
+                ]
+                """);
+
+        Database db = new Database("", dir.toString());
+
+        assertEquals(2, db.users.size());
+        assertEquals(1, db.getCatalog().restaurants().size());
+        Restaurant restaurant = db.getCatalog().restaurants().getFirst();
+        assertEquals("manager", restaurant.getManager().getUsername());
+        assertEquals(2, restaurant.getTables().size());
+        assertEquals(6, restaurant.getTable(2).getSeatsNumber());
+        assertEquals("client", restaurant.getReviews().getFirst().getUser().getUsername());
+        assertEquals(4.5, restaurant.getAverageRating().overall);
+    }
+
+    @Test
+    @DisplayName("Test Loading Is Deferred Until Load Is Called")
+    public void testDeferredLoad() throws IOException {
+        Files.writeString(dir.resolve("users.json"), """
+                [
+                  {"username": "client", "password": "secret", "email": "client@example.com", "role": "client",
+                   "address": {"country": "Iran", "city": "Tehran"}}
+                ]
+                """);
+
+        Database db = new Database("", dir.toString(), Database.MEMORY_ENGINE);
+        assertTrue(db.users.isEmpty());
+
+        db.load();
+        assertEquals(1, db.users.size());
+    }
+
+    @Test
+    @DisplayName("Test Missing And Malformed Seed Files Are Skipped")
+    public void testMissingFiles() throws IOException {
+        Files.writeString(dir.resolve("users.json"), "{\"username\": \"not an array\"}");
+
+        Database db = new Database("", dir.toString());
+
+        assertTrue(db.users.isEmpty());
+        assertTrue(db.getCatalog().restaurants().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Parallel Linking Matches Sequential Linking")
+    public void testParallelLinking() throws IOException {
+        StringBuilder users = new StringBuilder("[");
+        StringBuilder restaurants = new StringBuilder("[");
+        StringBuilder tables = new StringBuilder("[");
+        StringBuilder reviews = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            String separator = i == 0 ? "" : ",";
+            users.append(separator).append("""
+                    {"username": "user%d", "password": "p", "email": "u%d@example.com", "role": "client",
+                     "address": {"country": "Iran", "city": "Tehran"}}""".formatted(i, i));
+            restaurants.append(separator).append("""
+                    {"name": "restaurant%d", "managerUsername": "user0", "type": "Iranian", "startTime": "08:00",
+                     "endTime": "23:00", "description": "food", "image": "i.jpg",
+                     "address": {"country": "Iran", "city": "Tehran", "street": "s"}}""".formatted(i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            String separator = i == 0 ? "" : ",";
+            tables.append(separator).append("""
+                    {"restaurantName": "restaurant%d", "tableNumber": 0, "seatsNumber": %d}"""
+                    .formatted(i * 7 % 50, i % 9 + 1));
+            reviews.append(separator).append("""
+                    {"restaurantName": "restaurant%d", "username": "user%d", "foodRate": %d, "serviceRate": 3,
+                     "ambianceRate": 2, "overallRate": %d, "comment": "review %d"}"""
+                    .formatted(i * 3 % 50, i % 50, i % 6, i * 5 % 6, i));
+        }
+        Files.writeString(dir.resolve("users.json"), users.append("]"));
+        Files.writeString(dir.resolve("restaurants.json"), restaurants.append("]"));
+        Files.writeString(dir.resolve("tables.json"), tables.append("]"));
+        Files.writeString(dir.resolve("reviews.json"), reviews.append("]"));
+
+        Path empty = Files.createDirectory(dir.resolve("empty"));
+        Database sequential = new Database("", empty.toString());
+        new DataLoader(sequential, dir.toString(), 1).read();
+        Database parallel = new Database("", empty.toString());
+        new DataLoader(parallel, dir.toString(), 4).read();
+
+        assertEquals(50, parallel.getCatalog().restaurants().size());
+        for (int i = 0; i < 50; i++) {
+            Restaurant expected = sequential.getCatalog().restaurants().get(i);
+            Restaurant actual = parallel.getCatalog().restaurants().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(seatsOf(expected.getTables()), seatsOf(actual.getTables()));
+            assertEquals(commentsOf(expected.getReviews()), commentsOf(actual.getReviews()));
+            assertEquals(expected.getAverageRating().overall, actual.getAverageRating().overall);
+        }
+        assertEquals(sequential.restaurantsByRating.size(), parallel.restaurantsByRating.size());
+    }
+
+    private static List<String> seatsOf(List<Table> tables) {
+        return tables.stream().map(t -> t.getTableNumber() + ":" + t.getSeatsNumber()).toList();
+    }
+
+    private static List<String> commentsOf(List<Review> reviews) {
+        return reviews.stream().map(Review::getComment).toList();
+    }
+}
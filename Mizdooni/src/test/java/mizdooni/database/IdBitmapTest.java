@@ -0,0 +1,129 @@
+package mizdooni.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdBitmapTest {
+    private static IdBitmap bitmapOf(TreeSet<Integer> ids) {
+        IdBitmap bitmap = new IdBitmap();
+        for (int id : ids.descendingSet()) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    private static TreeSet<Integer> randomIds(Random random, int count, int bound) {
+        TreeSet<Integer> ids = new TreeSet<>();
+        while (ids.size() < count) {
+            ids.add(random.nextInt(bound));
+        }
+        return ids;
+    }
+
+    private static List<Integer> toList(IdBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = bitmap.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.nextInt());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test Empty Bitmap")
+    void testEmptyBitmap() {
+        IdBitmap bitmap = new IdBitmap();
+        assertEquals(0, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        assertFalse(bitmap.iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Test Sparse Ids Across Containers")
+    void testSparseIdsAcrossContainers() {
+        TreeSet<Integer> ids = randomIds(new Random(1), 500, 1 << 20);
+        IdBitmap bitmap = bitmapOf(ids);
+        bitmap.add(ids.first());
+
+        assertEquals(ids.size(), bitmap.cardinality());
+        assertEquals(new ArrayList<>(ids), toList(bitmap));
+        for (int id = 0; id < 1 << 20; id += 997) {
+            assertEquals(ids.contains(id), bitmap.contains(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Dense Container Converts to Bitmap")
+    void testDenseContainerConvertsToBitmap() {
+        TreeSet<Integer> ids = randomIds(new Random(2), 10000, 1 << 16);
+        ids.add(0xFFFF);
+        ids.add(0x10000);
+        IdBitmap bitmap = bitmapOf(ids);
+
+        assertEquals(ids.size(), bitmap.cardinality());
+        assertEquals(new ArrayList<>(ids), toList(bitmap));
+    }
+
+    @Test
+    @DisplayName("Test Intersection Matches Set Intersection")
+    void testIntersectionMatchesSetIntersection() {
+        Random random = new Random(3);
+        TreeSet<Integer> dense = randomIds(random, 30000, 1 << 17);
+        TreeSet<Integer> sparse = randomIds(random, 3000, 1 << 17);
+        TreeSet<Integer> other = randomIds(random, 20000, 1 << 17);
+
+        TreeSet<Integer> denseAndSparse = new TreeSet<>(dense);
+        denseAndSparse.retainAll(sparse);
+        TreeSet<Integer> denseAndOther = new TreeSet<>(dense);
+        denseAndOther.retainAll(other);
+
+        assertEquals(new ArrayList<>(denseAndSparse), toList(bitmapOf(dense).and(bitmapOf(sparse))));
+        assertEquals(new ArrayList<>(denseAndSparse), toList(bitmapOf(sparse).and(bitmapOf(dense))));
+        IdBitmap intersection = bitmapOf(dense).and(bitmapOf(other));
+        assertEquals(new ArrayList<>(denseAndOther), toList(intersection));
+        assertEquals(denseAndOther.size(), intersection.cardinality());
+    }
+
+    @Test
+    @DisplayName("Test Iterator From Skips Smaller Ids")
+    void testIteratorFromSkipsSmallerIds() {
+        TreeSet<Integer> ids = randomIds(new Random(5), 3000, 300_000);
+        IdBitmap bitmap = bitmapOf(ids);
+
+        for (int from : new int[]{0, 1, 65535, 65536, 131_000, ids.last(), ids.last() + 1}) {
+            List<Integer> actual = new ArrayList<>();
+            PrimitiveIterator.OfInt iterator = bitmap.iterator(from);
+            while (iterator.hasNext()) {
+                actual.add(iterator.nextInt());
+            }
+            assertEquals(new ArrayList<>(ids.tailSet(from)), actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Copy And Original Change Independently")
+    void testCopyIsIndependent() {
+        TreeSet<Integer> ids = randomIds(new Random(6), 5000, 200_000);
+        IdBitmap original = bitmapOf(ids);
+        IdBitmap copy = original.copy();
+
+        copy.add(200_001);
+        original.add(200_002);
+        copy.add(ids.first() + 1);
+
+        TreeSet<Integer> copied = new TreeSet<>(ids);
+        copied.add(200_001);
+        copied.add(ids.first() + 1);
+        ids.add(200_002);
+        assertEquals(new ArrayList<>(ids), toList(original));
+        assertEquals(new ArrayList<>(copied), toList(copy));
+    }
+}
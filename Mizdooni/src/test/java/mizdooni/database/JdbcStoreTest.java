@@ -0,0 +1,213 @@
+package mizdooni.database;
+
+import mizdooni.model.Reservation;
+import mizdooni.model.Restaurant;
+import mizdooni.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcStoreTest {
+    @TempDir
+    Path dir;
+
+    private String url;
+
+    @BeforeEach
+    public void setup() {
+        url = "jdbc:h2:file:" + dir.resolve("mizdooni").toAbsolutePath();
+    }
+
+    private JdbcStore open(Database db) throws SQLException {
+        JdbcStore store = new JdbcStore(db, url, "", 2);
+        store.open();
+        return store;
+    }
+
+    @Test
+    @DisplayName("Test Seed Data Is Imported And Loaded On Restart")
+    public void testImportAndLoad() throws SQLException {
+        Database first = new Database("", "", "jdbc");
+        open(first).close();
+        assertFalse(first.getCatalog().restaurants().isEmpty());
+
+        Database second = new Database("", "", "jdbc");
+        open(second).close();
+        assertEquals(first.users.size(), second.users.size());
+        assertEquals(first.getCatalog().restaurants().size(), second.getCatalog().restaurants().size());
+        for (int i = 0; i < first.getCatalog().restaurants().size(); i++) {
+            Restaurant expected = first.getCatalog().restaurants().get(i);
+            Restaurant actual = second.getCatalog().restaurants().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getTables().size(), actual.getTables().size());
+            assertEquals(expected.getReviews().size(), actual.getReviews().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Appended Writes Survive A Restart")
+    public void testAppend() throws SQLException {
+        Database first = new Database("", "", "jdbc");
+        JdbcStore store = open(first);
+        Restaurant restaurant = first.getCatalog().restaurants().getFirst();
+        String username = first.users.getFirst().getUsername();
+        int tableNumber = restaurant.getTables().size() + 1;
+        LocalDateTime datetime = LocalDateTime.of(2030, 1, 1, 20, 0);
+
+        store.append(Journal.ADD_TABLE, Journal.args("restaurantName", restaurant.getName(),
+                "tableNumber", tableNumber, "seatsNumber", 12));
+        store.append(Journal.RESERVE, Journal.args("reservationNumber", 1_000_000, "username", username,
+                "restaurantName", restaurant.getName(), "tableNumber", tableNumber,
+                "datetime", datetime.toString()));
+        store.append(Journal.CANCEL_RESERVATION, Journal.args("reservationNumber", 1_000_000));
+        JdbcStore.Stats stats = store.stats();
+        store.close();
+
+        assertEquals(3, stats.records());
+        assertThrows(IllegalStateException.class,
+                () -> store.append(Journal.CANCEL_RESERVATION, Journal.args("reservationNumber", 1)));
+
+        Database second = new Database("", "", "jdbc");
+        open(second).close();
+        Restaurant restored = second.getCatalog().restaurants().getFirst();
+        assertEquals(12, restored.getTable(tableNumber).getSeatsNumber());
+        Reservation reservation = second.reservationsById.get(1_000_000);
+        assertEquals(username, reservation.getUser().getUsername());
+        assertEquals(datetime, reservation.getDateTime());
+        assertTrue(reservation.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Test Past Reservations Are Read Through The Cache")
+    public void testArchivedReservations() throws SQLException {
+        Database first = new Database("", "", "jdbc");
+        JdbcStore store = open(first);
+        Restaurant restaurant = first.getCatalog().restaurants().getFirst();
+        User user = first.users.getFirst();
+        int tableNumber = restaurant.getTables().getFirst().getTableNumber();
+        LocalDateTime past = LocalDate.now().minusDays(3).atTime(20, 0);
+        LocalDateTime future = LocalDate.now().plusDays(3).atTime(20, 0);
+        for (int i = 0; i < 3; i++) {
+            store.append(Journal.RESERVE, Journal.args("reservationNumber", 2_000_000 + i, "username",
+                    user.getUsername(), "restaurantName", restaurant.getName(), "tableNumber", tableNumber,
+                    "datetime", past.plusHours(i).toString()));
+        }
+        store.append(Journal.RESERVE, Journal.args("reservationNumber", 2_000_010, "username", user.getUsername(),
+                "restaurantName", restaurant.getName(), "tableNumber", tableNumber, "datetime", future.toString()));
+        store.close();
+
+        Database second = new Database("", "", "jdbc");
+        JdbcStore restarted = open(second);
+        User restoredUser = second.users.getFirst();
+        Restaurant restoredRestaurant = second.getCatalog().restaurants().getFirst();
+        assertNull(second.reservationsById.get(2_000_000));
+        assertNotNull(second.reservationsById.get(2_000_010));
+        assertSame(restarted, second.archive);
+
+        List<Reservation> archived = second.archive.byUser(restoredUser, null, null);
+        assertEquals(3, archived.size());
+        assertEquals(past, archived.getFirst().getDateTime());
+        assertSame(restoredUser, archived.getFirst().getUser());
+        assertEquals(3, second.archive.byTable(restoredRestaurant, tableNumber, past.toLocalDate(),
+                past.toLocalDate()).size());
+        assertEquals(List.of(), second.archive.byUser(restoredUser, future.toLocalDate(), null));
+        assertSame(second.archive.get(2_000_002), second.archive.get(2_000_002));
+        assertNull(second.archive.get(2_000_010));
+        assertTrue(second.archive.hasReserved(restoredUser, restoredRestaurant));
+        assertFalse(second.archive.hasReserved(restoredUser, second.getCatalog().restaurants().get(1)));
+        assertEquals(2, restarted.stats().cachedReservations());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Test Archive Cutoff Moves Past Reservations Out Of Memory")
+    public void testArchiveAdvances() throws SQLException {
+        Database db = new Database("", "", "jdbc");
+        JdbcStore store = open(db);
+        Restaurant restaurant = db.getCatalog().restaurants().getFirst();
+        User user = db.users.getFirst();
+        LocalDateTime datetime = LocalDate.now().plusDays(2).atTime(20, 0);
+        Reservation reservation = new Reservation(user, restaurant, restaurant.getTables().getFirst(), datetime);
+        reservation.setReservationNumber(3_000_000);
+        store.append(Journal.RESERVE, restaurant, () -> reservation,
+                r -> Journal.args("reservationNumber", r.getReservationNumber(), "username", user.getUsername(),
+                        "restaurantName", restaurant.getName(), "tableNumber", r.getTable().getTableNumber(),
+                        "datetime", r.getDateTime().toString()),
+                db::addReservation);
+        assertSame(reservation, db.reservationsById.get(3_000_000));
+        assertNull(db.archive.get(3_000_000));
+
+        store.archiveBefore(datetime.toLocalDate().plusDays(1));
+
+        assertNull(db.reservationsById.get(3_000_000));
+        assertFalse(user.getReservations().contains(reservation));
+        assertFalse(restaurant.getTables().getFirst().getReservations().contains(reservation));
+        assertEquals(datetime, db.archive.get(3_000_000).getDateTime());
+        assertEquals(1, db.archive.byUser(user, datetime.toLocalDate(), null).size());
+        assertTrue(db.archive.hasReserved(user, restaurant));
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Test Text Reservation Times Are Converted To Timestamps")
+    public void testTextTimesAreMigrated() throws SQLException {
+        Database first = new Database("", "", "jdbc");
+        JdbcStore store = open(first);
+        Restaurant restaurant = first.getCatalog().restaurants().getFirst();
+        LocalDateTime past = LocalDate.now().minusDays(2).atTime(19, 30);
+        store.append(Journal.RESERVE, Journal.args("reservationNumber", 4_000_000, "username",
+                first.users.getFirst().getUsername(), "restaurantName", restaurant.getName(), "tableNumber",
+                restaurant.getTables().getFirst().getTableNumber(), "datetime", past.toString()));
+        store.close();
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE reservations ALTER COLUMN reserved_at SET DATA TYPE VARCHAR(32)");
+            statement.execute("UPDATE reservations SET reserved_at = '" + past + "'");
+        }
+
+        Database second = new Database("", "", "jdbc");
+        JdbcStore restarted = open(second);
+        assertEquals(past, second.archive.get(4_000_000).getDateTime());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Test Failed Write Fails Only Its Request And Is Not Applied")
+    public void testFailedWrite() throws SQLException {
+        Database first = new Database("", "", "jdbc");
+        JdbcStore store = open(first);
+        Restaurant restaurant = first.getCatalog().restaurants().getFirst();
+        int tableNumber = restaurant.getTables().size() + 1;
+        List<Integer> applied = new ArrayList<>();
+
+        store.append(Journal.ADD_TABLE, Journal.args("restaurantName", restaurant.getName(),
+                "tableNumber", tableNumber, "seatsNumber", 4));
+        assertThrows(IllegalStateException.class, () -> store.append(Journal.ADD_TABLE, restaurant, () -> 8,
+                seats -> Journal.args("restaurantName", restaurant.getName(), "tableNumber", tableNumber,
+                        "seatsNumber", seats), applied::add));
+        assertTrue(applied.isEmpty());
+        store.append(Journal.ADD_TABLE, restaurant, () -> 6,
+                seats -> Journal.args("restaurantName", restaurant.getName(), "tableNumber", tableNumber + 1,
+                        "seatsNumber", seats), applied::add);
+        assertEquals(List.of(6), applied);
+        store.close();
+
+        Database second = new Database("", "", "jdbc");
+        open(second).close();
+        assertEquals(4, second.getCatalog().restaurants().getFirst().getTable(tableNumber).getSeatsNumber());
+        assertEquals(6, second.getCatalog().restaurants().getFirst().getTable(tableNumber + 1).getSeatsNumber());
+    }
+}
@@ -0,0 +1,112 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestaurantCatalogTest {
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new User("manager", "pass", "manager@example.com", new Address("Iran", "Tehran", "Kargar"),
+                User.Role.manager);
+    }
+
+    private Restaurant restaurant(String name, String type, String country, String city) {
+        return new Restaurant(name, manager, type, LocalTime.of(8, 0), LocalTime.of(22, 0), "description",
+                new Address(country, city, "street"), "image");
+    }
+
+    @Test
+    @DisplayName("Test Published Catalog Is Unchanged By Later Writes")
+    void testPublishedCatalogIsUnchanged() {
+        Restaurant burger = restaurant("Downtown Burger", "Fast Food", "Iran", "Tehran");
+        RestaurantCatalog before = RestaurantCatalog.EMPTY.with(List.of(burger));
+
+        Restaurant kabab = restaurant("Burger Kabab", "Fast Food", "Iran", "Shiraz");
+        Restaurant sushi = restaurant("Sushi Town", "Japanese", "Japan", "Tokyo");
+        RestaurantCatalog after = before.with(List.of(kabab, sushi));
+
+        assertEquals(List.of(burger), before.restaurants());
+        assertEquals(1, before.facets().select("Fast Food", null, null).cardinality());
+        assertEquals(1, before.names().candidates("burger").cardinality());
+        assertEquals(Set.of("Fast Food"), before.facets().getTypes());
+        assertEquals(Set.of("Tehran"), before.facets().getLocations().get("Iran"));
+
+        assertEquals(List.of(burger, kabab, sushi), after.restaurants());
+        assertEquals(2, after.facets().select("Fast Food", "Iran", null).cardinality());
+        assertEquals(2, after.names().candidates("burger").cardinality());
+        assertEquals(Set.of("Fast Food", "Japanese"), after.facets().getTypes());
+        assertEquals(Set.of("Tehran", "Shiraz"), after.facets().getLocations().get("Iran"));
+        assertTrue(RestaurantCatalog.EMPTY.restaurants().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Catalog Restaurants Cannot Be Modified")
+    void testRestaurantsAreReadOnly() {
+        RestaurantCatalog catalog = RestaurantCatalog.EMPTY.with(List.of(restaurant("Pizza", "Italian", "Iran", "Tehran")));
+        assertThrows(UnsupportedOperationException.class, () -> catalog.restaurants().clear());
+    }
+
+    @Test
+    @DisplayName("Test Database Publishes A New Catalog On Each Write")
+    void testDatabasePublishesCatalog() {
+        Database db = new Database();
+        RestaurantCatalog before = db.getCatalog();
+        long version = db.getRestaurantsVersion();
+
+        Restaurant restaurant = restaurant("Catalog Pizza", "Italian", "Iran", "Tehran");
+        db.addRestaurant(restaurant);
+
+        assertNotSame(before, db.getCatalog());
+        assertEquals(before.restaurants().size() + 1, db.getCatalog().restaurants().size());
+        assertFalse(before.restaurants().contains(restaurant));
+        assertSame(restaurant, db.getCatalog().restaurants().getLast());
+        assertEquals(version + 1, db.getRestaurantsVersion());
+    }
+
+    @Test
+    @DisplayName("Test Catalogs Derived From The Same Catalog Do Not Share Appends")
+    void testBranchedCatalogs() {
+        RestaurantCatalog base = RestaurantCatalog.EMPTY.with(List.of(restaurant("Base", "Italian", "Iran", "Tehran")));
+        Restaurant first = restaurant("First", "Italian", "Iran", "Tehran");
+        Restaurant second = restaurant("Second", "Persian", "Iran", "Shiraz");
+
+        RestaurantCatalog left = base.with(List.of(first));
+        RestaurantCatalog right = base.with(List.of(second));
+
+        assertSame(first, left.restaurants().getLast());
+        assertSame(second, right.restaurants().getLast());
+        assertTrue(left.contains(first));
+        assertFalse(left.contains(second));
+        assertFalse(base.contains(first));
+        assertEquals(1, base.restaurants().size());
+        assertEquals(Set.of("Italian"), left.facets().getTypes());
+    }
+
+    @Test
+    @DisplayName("Test Appending To The Latest Catalog Grows It In Place")
+    void testAppendsKeepEarlierCatalogs() {
+        List<RestaurantCatalog> catalogs = new ArrayList<>();
+        RestaurantCatalog catalog = RestaurantCatalog.EMPTY;
+        for (int i = 0; i < 100; i++) {
+            catalog = catalog.with(List.of(restaurant("Restaurant " + i, "Italian", "Iran", "Tehran")));
+            catalogs.add(catalog);
+        }
+
+        for (int i = 0; i < catalogs.size(); i++) {
+            assertEquals(i + 1, catalogs.get(i).restaurants().size());
+            assertEquals("Restaurant " + i, catalogs.get(i).restaurants().getLast().getName());
+            assertEquals(i + 1, catalogs.get(i).names().candidates("restaurant").cardinality());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package mizdooni.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RestaurantNameIndexBenchmark {
+    private static final int RESTAURANTS = 1_000_000;
+    private static final int QUERIES = 200;
+    private static final String[] WORDS = {"Downtown", "Burger", "Pizza", "Kabab", "Sushi", "Garden", "House",
+            "Grill", "Cafe", "Royal", "Golden", "Persian", "Taste", "Corner", "Kitchen", "Bistro"};
+
+    @Test
+    void benchmarkSubstringSearch() {
+        Random random = new Random(42);
+        String[] names = new String[RESTAURANTS];
+        for (int i = 0; i < RESTAURANTS; i++) {
+            names[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+        }
+
+        long start = System.nanoTime();
+        RestaurantNameIndex index = new RestaurantNameIndex();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            index.add(i, names[i]);
+        }
+        System.out.printf("index build: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = i % 2 == 0 ? "Sushi Gar" : String.valueOf(random.nextInt(RESTAURANTS));
+        }
+
+        long scanMatches = 0;
+        start = System.nanoTime();
+        for (String query : queries) {
+            for (String name : names) {
+                if (name.contains(query)) {
+                    scanMatches++;
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        long indexMatches = 0;
+        start = System.nanoTime();
+        for (String query : queries) {
+            PrimitiveIterator.OfInt candidates = index.candidates(query).iterator();
+            while (candidates.hasNext()) {
+                if (names[candidates.nextInt()].contains(query)) {
+                    indexMatches++;
+                }
+            }
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        assertEquals(scanMatches, indexMatches);
+        System.out.printf("full scan: %.3f ms/query, trigram index: %.3f ms/query%n",
+                scanNanos / 1e6 / QUERIES, indexNanos / 1e6 / QUERIES);
+    }
+}
@@ -0,0 +1,59 @@
+package mizdooni.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestaurantNameIndexTest {
+    private RestaurantNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RestaurantNameIndex();
+        index.add(1, "Downtown Burger");
+        index.add(2, "Perperook");
+        index.add(3, "Burger King");
+        index.add(4, "Pizza Town");
+    }
+
+    private static List<Integer> ids(IdBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = bitmap.iterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.nextInt());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test Candidates Contain Every Substring Match")
+    void testCandidatesContainEverySubstringMatch() {
+        assertEquals(List.of(1, 3), ids(index.candidates("Burger")));
+        assertEquals(List.of(1, 4), ids(index.candidates("own")));
+    }
+
+    @Test
+    @DisplayName("Test Candidates Are Case Insensitive")
+    void testCandidatesAreCaseInsensitive() {
+        assertEquals(List.of(1, 4), ids(index.candidates("TOWN")));
+        assertEquals(List.of(2), ids(index.candidates("perPEROOK")));
+    }
+
+    @Test
+    @DisplayName("Test Unknown Trigram Has No Candidates")
+    void testUnknownTrigramHasNoCandidates() {
+        assertEquals(0, index.candidates("Sushi").cardinality());
+    }
+
+    @Test
+    @DisplayName("Test Short Query Is Not Restricted")
+    void testShortQueryIsNotRestricted() {
+        assertNull(index.candidates("Bu"));
+    }
+}
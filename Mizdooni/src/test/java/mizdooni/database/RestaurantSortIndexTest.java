@@ -0,0 +1,132 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestaurantSortIndexTest {
+    private List<Restaurant> restaurants;
+    private RestaurantSortIndex byRating;
+    private RestaurantSortIndex byReviews;
+
+    @BeforeEach
+    void setUp() {
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("manager", "pass", "manager@example.com", address, User.Role.manager);
+        List<User> clients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            clients.add(new User("client" + i, "pass", "client" + i + "@example.com", address, User.Role.client));
+        }
+
+        restaurants = new ArrayList<>();
+        byRating = new RestaurantSortIndex(Restaurant::getAverageOverall);
+        byReviews = new RestaurantSortIndex(r -> r.getReviews().size());
+        for (int i = 0; i < 40; i++) {
+            Restaurant restaurant = new Restaurant("restaurant" + i, manager, "type", LocalTime.of(8, 0),
+                    LocalTime.of(22, 0), "description", address, "image");
+            restaurants.add(restaurant);
+            byRating.update(restaurant);
+            byReviews.update(restaurant);
+        }
+
+        Random random = new Random(7);
+        for (int i = 0; i < 150; i++) {
+            Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+            Rating rating = new Rating();
+            rating.overall = random.nextInt(6);
+            restaurant.addReview(new Review(clients.get(random.nextInt(clients.size())), rating, "comment",
+                    LocalDateTime.now()));
+            byRating.update(restaurant);
+            byReviews.update(restaurant);
+        }
+    }
+
+    private List<Restaurant> collect(Iterator<Restaurant> iterator) {
+        List<Restaurant> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    private List<Restaurant> sortWholeList(String sort, boolean ascending) {
+        Comparator<Restaurant> comparator = sort.equals("rating") ?
+                Comparator.comparingDouble(Restaurant::getAverageOverall) :
+                Comparator.comparingInt(r -> r.getReviews().size());
+        List<Restaurant> sorted = new ArrayList<>(restaurants);
+        sorted.sort(ascending ? comparator : comparator.reversed());
+        return sorted;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"rating, asc", "rating, desc", "reviews, asc", "reviews, desc"})
+    @DisplayName("Test Index Order Matches Sorting the Whole List")
+    void testIndexOrderMatchesSortingTheWholeList(String sort, String order) {
+        RestaurantSearchFilter filter = new RestaurantSearchFilter();
+        filter.setSort(sort);
+        filter.setOrder(order);
+        RestaurantSortIndex index = sort.equals("rating") ? byRating : byReviews;
+
+        assertEquals(sortWholeList(sort, filter.isAscending()), collect(index.iterator(filter.isAscending())));
+    }
+
+    @Test
+    @DisplayName("Test Index Contains Each Restaurant Once")
+    void testIndexContainsEachRestaurantOnce() {
+        assertEquals(restaurants.size(), byRating.size());
+        assertEquals(restaurants.size(), collect(byRating.iterator(false)).size());
+        assertEquals(restaurants.size(), collect(byReviews.iterator(true)).size());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Updates Keep One Entry Per Restaurant")
+    void testConcurrentUpdatesKeepOneEntry() throws InterruptedException {
+        Restaurant restaurant = restaurants.getFirst();
+        RestaurantSortIndex index = new RestaurantSortIndex(r -> r.getReviews().size());
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    User user = new User("writer" + thread + "-" + i, "pass", "writer@example.com", address,
+                            User.Role.client);
+                    restaurant.addReview(new Review(user, new Rating(), "comment", LocalDateTime.now()));
+                    index.update(restaurant);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(List.of(restaurant), collect(index.iterator(true)));
+        assertEquals(restaurant.getReviews().size(), index.keyOf(restaurant));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"true", "false"})
+    @DisplayName("Test Iterator After Cursor Resumes the Same Order")
+    void testIteratorAfterCursorResumesTheSameOrder(boolean ascending) {
+        List<Restaurant> all = collect(byRating.iterator(ascending));
+        for (int i = 0; i < all.size(); i += 7) {
+            Restaurant last = all.get(i);
+            List<Restaurant> rest = collect(byRating.iterator(ascending, byRating.keyOf(last), last.getId()));
+            assertEquals(all.subList(i + 1, all.size()), rest);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package mizdooni.database;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mizdooni.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SnapshotBenchmark {
+    private static final int USERS = 100_000;
+    private static final int RESTAURANTS = 100_000;
+    private static final int TABLES_PER_RESTAURANT = 3;
+    private static final int REVIEWS_PER_RESTAURANT = 4;
+    private static final int RESERVATIONS = 100_000;
+    private static final String[] WORDS = {"Downtown", "Burger", "Pizza", "Kabab", "Sushi", "Garden", "House",
+            "Grill", "Cafe", "Royal", "Golden", "Persian", "Taste", "Corner", "Kitchen", "Bistro"};
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static Database emptyDatabase() throws IOException {
+        Path directory = Files.createTempDirectory("mizdooni");
+        Database empty = new Database("", directory.toString());
+        Files.delete(directory);
+        return empty;
+    }
+
+    private static Database generate() throws IOException {
+        Database db = emptyDatabase();
+        Random random = new Random(42);
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            Address address = new Address("Iran", WORDS[i % WORDS.length], null);
+            users[i] = new User("user" + i, "password" + i, "user" + i + "@example.com", address,
+                    i % 10 == 0 ? User.Role.manager : User.Role.client);
+            db.users.add(users[i]);
+        }
+
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<Restaurant> restaurants = new ArrayList<>(RESTAURANTS);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant("restaurant" + i, users[random.nextInt(USERS / 10) * 10],
+                    WORDS[random.nextInt(WORDS.length)], LocalTime.of(8, 0), LocalTime.of(23, 0), words(random, 6),
+                    new Address("Iran", "Tehran", "street " + i), "https://example.com/" + i + ".jpg");
+            for (int j = 0; j < TABLES_PER_RESTAURANT; j++) {
+                restaurant.addTable(new Table(0, restaurant.getId(), 2 + j * 2));
+            }
+            for (int j = 0; j < REVIEWS_PER_RESTAURANT; j++) {
+                Rating rating = new Rating();
+                rating.food = random.nextInt(6);
+                rating.service = random.nextInt(6);
+                rating.ambiance = random.nextInt(6);
+                rating.overall = random.nextInt(6);
+                restaurant.addReview(new Review(users[random.nextInt(USERS)], rating, words(random, 4),
+                        now.minusDays(j)));
+            }
+            restaurants.add(restaurant);
+        }
+        db.restoreRestaurants(restaurants);
+
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Restaurant restaurant = db.getCatalog().restaurants().get(i % RESTAURANTS);
+            Table table = restaurant.getTables().get(random.nextInt(TABLES_PER_RESTAURANT));
+            Reservation reservation = new Reservation(users[random.nextInt(USERS)], restaurant, table,
+                    now.plusHours(i / RESTAURANTS));
+            db.addReservation(reservation);
+        }
+        return db;
+    }
+
+    private static byte[] toJson(Database db) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new ObjectMapper().getFactory().createGenerator(out)) {
+            gen.writeStartArray();
+            gen.writeStartArray();
+            for (User user : db.users) {
+                gen.writeStartObject();
+                gen.writeStringField("username", user.getUsername());
+                gen.writeStringField("password", user.getPassword());
+                gen.writeStringField("email", user.getEmail());
+                gen.writeStringField("role", user.getRole().name());
+                gen.writeObjectFieldStart("address");
+                gen.writeStringField("country", user.getAddress().getCountry());
+                gen.writeStringField("city", user.getAddress().getCity());
+                gen.writeEndObject();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+
+            gen.writeStartArray();
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                gen.writeStartObject();
+                gen.writeStringField("name", restaurant.getName());
+                gen.writeStringField("managerUsername", restaurant.getManager().getUsername());
+                gen.writeStringField("type", restaurant.getType());
+                gen.writeStringField("startTime", restaurant.getStartTime().toString());
+                gen.writeStringField("endTime", restaurant.getEndTime().toString());
+                gen.writeStringField("description", restaurant.getDescription());
+                gen.writeStringField("image", restaurant.getImageLink());
+                gen.writeObjectFieldStart("address");
+                gen.writeStringField("country", restaurant.getAddress().getCountry());
+                gen.writeStringField("city", restaurant.getAddress().getCity());
+                gen.writeStringField("street", restaurant.getAddress().getStreet());
+                gen.writeEndObject();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+
+            gen.writeStartArray();
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                for (Table table : restaurant.getTables()) {
+                    gen.writeStartObject();
+                    gen.writeStringField("restaurantName", restaurant.getName());
+                    gen.writeNumberField("tableNumber", table.getTableNumber());
+                    gen.writeNumberField("seatsNumber", table.getSeatsNumber());
+                    gen.writeEndObject();
+                }
+            }
+            gen.writeEndArray();
+
+            gen.writeStartArray();
+            for (Restaurant restaurant : db.getCatalog().restaurants()) {
+                for (Review review : restaurant.getReviews()) {
+                    gen.writeStartObject();
+                    gen.writeStringField("restaurantName", restaurant.getName());
+                    gen.writeStringField("username", review.getUser().getUsername());
+                    gen.writeNumberField("foodRate", review.getRating().food);
+                    gen.writeNumberField("serviceRate", review.getRating().service);
+                    gen.writeNumberField("ambianceRate", review.getRating().ambiance);
+                    gen.writeNumberField("overallRate", review.getRating().overall);
+                    gen.writeStringField("comment", review.getComment());
+                    gen.writeEndObject();
+                }
+            }
+            gen.writeEndArray();
+            gen.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void benchmarkSnapshot() throws IOException {
+        Database db = generate();
+        int users = db.users.size();
+        int restaurants = db.getCatalog().restaurants().size();
+        int reservations = db.reservationsById.size();
+        int entities = users + restaurants + reservations +
+                db.getCatalog().restaurants().stream().mapToInt(r -> r.getTables().size() + r.getReviews().size()).sum();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        new Snapshot(db).write(out);
+        long writeNanos = System.nanoTime() - start;
+        byte[] snapshot = out.toByteArray();
+        byte[] json = toJson(db);
+        db = null;
+        out = null;
+
+        start = System.nanoTime();
+        new ObjectMapper().readTree(json);
+        long jsonNanos = System.nanoTime() - start;
+        int jsonBytes = json.length;
+        json = null;
+
+        Database target = emptyDatabase();
+        start = System.nanoTime();
+        new Snapshot(target).read(new ByteArrayInputStream(snapshot));
+        long readNanos = System.nanoTime() - start;
+
+        assertEquals(users, target.users.size());
+        assertEquals(restaurants, target.getCatalog().restaurants().size());
+        assertEquals(reservations, target.reservationsById.size());
+        System.out.printf("entities: %d, snapshot: %d bytes, json: %d bytes%n", entities, snapshot.length, jsonBytes);
+        System.out.printf("snapshot write: %d ms, snapshot load: %d ms, json tree parse alone: %d ms%n",
+                writeNanos / 1_000_000, readNanos / 1_000_000, jsonNanos / 1_000_000);
+    }
+}
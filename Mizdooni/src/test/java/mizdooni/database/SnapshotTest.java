@@ -0,0 +1,167 @@
+package mizdooni.database;
+
+import mizdooni.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTest {
+    @TempDir
+    Path dir;
+
+    private Restaurant restaurantOf(Database db, String name) {
+        return db.getCatalog().restaurants().stream().filter(r -> r.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Test Snapshot Round Trip Restores The Object Graph")
+    public void testRoundTrip() throws IOException {
+        Database source = new Database();
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("snapshot manager", "secret", "manager@example.com", address, User.Role.manager);
+        User client = new User("snapshot client", "secret", "client@example.com", address, User.Role.client);
+        source.users.add(manager);
+        source.users.add(client);
+        Restaurant restaurant = new Restaurant("Snapshot Kababi", manager, "Iranian", LocalTime.of(8, 0),
+                LocalTime.of(23, 0), "kabab koobideh", address, null);
+        source.addRestaurant(restaurant);
+        restaurant.addTable(new Table(0, restaurant.getId(), 2));
+        restaurant.addTable(new Table(0, restaurant.getId(), 6));
+
+        LocalDateTime datetime = LocalDateTime.of(2030, 1, 1, 20, 0);
+        Reservation cancelled = new Reservation(client, restaurant, restaurant.getTables().get(1), datetime);
+        assertTrue(source.addReservation(cancelled));
+        restaurant.getTables().get(1).cancel(cancelled);
+        Reservation active = new Reservation(client, restaurant, restaurant.getTables().get(1), datetime);
+        assertTrue(source.addReservation(active));
+
+        Rating rating = new Rating();
+        rating.food = 4;
+        rating.service = 3.5;
+        rating.ambiance = 2;
+        rating.overall = 4.25;
+        source.addReview(restaurant, new Review(client, rating, "ghormeh sabzi was great", datetime.minusDays(3)));
+
+        Path path = dir.resolve("mizdooni.snapshot");
+        new Snapshot(source).write(path);
+        Database target = new Database(path.toString(), "");
+
+        assertEquals(source.users.size(), target.users.size());
+        assertEquals(source.getCatalog().restaurants().size(), target.getCatalog().restaurants().size());
+        for (Restaurant expected : source.getCatalog().restaurants()) {
+            Restaurant actual = restaurantOf(target, expected.getName());
+            assertEquals(expected.getTables().size(), actual.getTables().size());
+            assertEquals(expected.getReviews().size(), actual.getReviews().size());
+            assertEquals(expected.getAverageRating().overall, actual.getAverageRating().overall);
+        }
+
+        Restaurant restored = restaurantOf(target, "Snapshot Kababi");
+        assertEquals("snapshot manager", restored.getManager().getUsername());
+        assertNull(restored.getImageLink());
+        assertEquals(LocalTime.of(23, 0), restored.getEndTime());
+        assertEquals(6, restored.getTable(2).getSeatsNumber());
+
+        Review review = restored.getReviews().getFirst();
+        assertEquals("snapshot client", review.getUser().getUsername());
+        assertEquals(datetime.minusDays(3), review.getDateTime());
+        assertEquals(3.5, review.getRating().service);
+
+        Reservation restoredActive = target.reservationsById.get(active.getReservationNumber());
+        assertFalse(restoredActive.isCancelled());
+        assertSame(restored.getTable(2), restoredActive.getTable());
+        assertTrue(target.reservationsById.get(cancelled.getReservationNumber()).isCancelled());
+        assertTrue(restored.getTable(2).isReserved(datetime));
+
+        User restoredClient = restoredActive.getUser();
+        assertTrue(restoredClient.checkPassword("secret"));
+        assertEquals(2, restoredClient.getReservations().size());
+        assertEquals(1, target.restaurantTexts.search("ghormeh", 10).total());
+    }
+
+    @Test
+    @DisplayName("Test Reservations Keep Their Order After A Round Trip")
+    public void testReservationOrder() throws IOException {
+        Database source = new Database();
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("order manager", "secret", "order-manager@example.com", address, User.Role.manager);
+        User client = new User("order client", "secret", "order-client@example.com", address, User.Role.client);
+        source.users.add(manager);
+        source.users.add(client);
+        Restaurant restaurant = new Restaurant("Snapshot Order Cafe", manager, "Cafe", LocalTime.of(8, 0),
+                LocalTime.of(23, 0), "coffee", address, null);
+        source.addRestaurant(restaurant);
+        source.addTable(restaurant, new Table(0, restaurant.getId(), 4));
+
+        for (int i = 0; i < 20; i++) {
+            Reservation reservation = new Reservation(client, restaurant, restaurant.getTable(1),
+                    LocalDateTime.of(2030, 1, 1 + i, 12, 0));
+            reservation.setReservationNumber(100_000 + i * 977);
+            source.restoreReservation(reservation);
+        }
+
+        Path path = dir.resolve("mizdooni.snapshot");
+        new Snapshot(source).write(path);
+        Database target = new Database(path.toString(), "");
+
+        User restored = target.users.stream().filter(u -> u.getUsername().equals("order client")).findFirst()
+                .orElseThrow();
+        assertEquals(client.getReservations().stream().map(Reservation::getReservationNumber).toList(),
+                restored.getReservations().stream().map(Reservation::getReservationNumber).toList());
+    }
+
+    @Test
+    @DisplayName("Test Missing Snapshot Is Written From Seed Data")
+    public void testWriteOnFirstStart() {
+        Path path = dir.resolve("data").resolve("mizdooni.snapshot");
+        Database seeded = new Database(path.toString(), "");
+
+        assertTrue(Files.exists(path));
+        assertEquals(seeded.getCatalog().restaurants().size(), new Database(path.toString(), "").getCatalog().restaurants().size());
+    }
+
+    @Test
+    @DisplayName("Test Reading A Foreign File Fails")
+    public void testBadMagic() {
+        Snapshot snapshot = new Snapshot(new Database());
+        assertThrows(IOException.class, () -> snapshot.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    @Test
+    @DisplayName("Test Captured Snapshot Leaves Out Later Users And Their Reservations")
+    public void testCapture() throws IOException {
+        Database source = new Database("", dir.resolve("no-seed").toString());
+        Address address = new Address("Iran", "Tehran", "Kargar");
+        User manager = new User("capture manager", "secret", "manager@example.com", address, User.Role.manager);
+        source.users.add(manager);
+        Restaurant restaurant = new Restaurant("Capture Kababi", manager, "Iranian", LocalTime.of(8, 0),
+                LocalTime.of(23, 0), "kabab", address, null);
+        source.addRestaurant(restaurant);
+        restaurant.addTable(new Table(0, restaurant.getId(), 4));
+
+        Snapshot captured = new Snapshot(source).capture(7);
+        User late = new User("late client", "secret", "late@example.com", address, User.Role.client);
+        source.users.add(late);
+        assertTrue(source.addReservation(new Reservation(late, restaurant, restaurant.getTables().getFirst(),
+                LocalDateTime.of(2030, 1, 1, 20, 0))));
+        source.addRestaurant(new Restaurant("Late Kababi", manager, "Iranian", LocalTime.of(8, 0),
+                LocalTime.of(23, 0), "kabab", address, null));
+
+        Path path = dir.resolve("mizdooni.snapshot");
+        captured.write(path);
+        Database target = new Database(path.toString(), "");
+
+        assertEquals(7, target.getCheckpointLsn());
+        assertEquals(1, target.users.size());
+        assertEquals(1, target.getCatalog().restaurants().size());
+        assertTrue(target.reservationsById.isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package mizdooni.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextIndexTest {
+    private TextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextIndex();
+        index.put(1, "description", "The best vegan food on a rooftop");
+        index.put(2, "description", "Classic burgers and fries");
+        index.put(3, "description", "Rooftop bar with a view");
+        index.put(2, "ali", "Surprisingly good vegan burgers!");
+    }
+
+    private static List<Integer> ids(TextIndex.Result result) {
+        return result.hits().stream().map(TextIndex.Hit::id).toList();
+    }
+
+    @Test
+    @DisplayName("Test Tokenizer")
+    void testTokenizer() {
+        assertEquals(List.of("vegan", "rooftop", "2024"), TextIndex.tokenize("Vegan, ROOFTOP! (2024)"));
+        assertEquals(List.of(), TextIndex.tokenize(null));
+    }
+
+    @Test
+    @DisplayName("Test Documents Matching More Terms Rank Higher")
+    void testDocumentsMatchingMoreTermsRankHigher() {
+        TextIndex.Result result = index.search("vegan rooftop", 10);
+
+        assertEquals(3, result.total());
+        assertEquals(1, ids(result).getFirst());
+    }
+
+    @Test
+    @DisplayName("Test Phrase Query Requires Adjacent Terms")
+    void testPhraseQueryRequiresAdjacentTerms() {
+        assertEquals(List.of(2), ids(index.search("\"vegan burgers\"", 10)));
+        assertEquals(List.of(), ids(index.search("\"burgers vegan\"", 10)));
+    }
+
+    @Test
+    @DisplayName("Test Phrase Does Not Span Texts")
+    void testPhraseDoesNotSpanTexts() {
+        assertEquals(0, index.search("\"fries surprisingly\"", 10).total());
+    }
+
+    @Test
+    @DisplayName("Test Replacing Text Removes Old Terms")
+    void testReplacingTextRemovesOldTerms() {
+        index.put(2, "ali", "Too salty");
+
+        assertEquals(List.of(1), ids(index.search("vegan", 10)));
+        assertEquals(List.of(2), ids(index.search("salty", 10)));
+    }
+
+    @Test
+    @DisplayName("Test Batch Put Matches Single Puts")
+    void testBatchPut() {
+        Map<Object, String> texts = new LinkedHashMap<>();
+        texts.put("sara", "Late night falafel");
+        texts.put("ali", "Crispy falafel wraps");
+        index.putAll(4, texts);
+
+        assertEquals(List.of(4), ids(index.search("\"falafel wraps\"", 10)));
+        assertEquals(0, index.search("\"falafel crispy\"", 10).total());
+        assertEquals(List.of(4), ids(index.search("falafel", 10)));
+    }
+
+    @Test
+    @DisplayName("Test Limit Keeps Best Hits but Counts All Matches")
+    void testLimitKeepsBestHitsButCountsAllMatches() {
+        TextIndex.Result all = index.search("vegan rooftop", 10);
+        TextIndex.Result top = index.search("vegan rooftop", 2);
+
+        assertEquals(3, top.total());
+        assertEquals(ids(all).subList(0, 2), ids(top));
+    }
+
+    @Test
+    @DisplayName("Test Unknown Terms")
+    void testUnknownTerms() {
+        assertEquals(0, index.search("sushi", 10).total());
+        assertEquals(0, index.search("   ", 10).total());
+    }
+}
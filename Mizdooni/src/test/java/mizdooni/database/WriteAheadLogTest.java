@@ -0,0 +1,394 @@
+package mizdooni.database;
+
+import mizdooni.model.Address;
+import mizdooni.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class WriteAheadLogTest {
+    @TempDir
+    Path dir;
+
+    private List<WriteAheadLog.Entry> replay(Path path) throws IOException {
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entries::add);
+        wal.close();
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Test Appended Records Are Replayed In Order")
+    public void testReplay() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> fail());
+        wal.append(Journal.SIGNUP, Journal.args("username", "ali", "street", null));
+        wal.append(Journal.CANCEL_RESERVATION, Journal.args("reservationNumber", 3));
+        wal.close();
+
+        List<WriteAheadLog.Entry> entries = replay(path);
+
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).lsn());
+        assertEquals(Journal.SIGNUP, entries.get(0).op());
+        assertEquals("ali", entries.get(0).args().get("username"));
+        assertTrue(entries.get(0).args().containsKey("street"));
+        assertEquals(2, entries.get(1).lsn());
+        assertEquals(3, entries.get(1).args().get("reservationNumber"));
+    }
+
+    @Test
+    @DisplayName("Test Torn Tail Is Truncated And Later Records Continue The Sequence")
+    public void testTornTail() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", 4));
+        wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", 6));
+        wal.close();
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entries::add);
+        assertEquals(1, entries.size());
+        wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", 8));
+        wal.close();
+
+        entries = replay(path);
+        assertEquals(2, entries.size());
+        assertEquals(4, entries.get(0).args().get("seatsNumber"));
+        assertEquals(2, entries.get(1).lsn());
+        assertEquals(8, entries.get(1).args().get("seatsNumber"));
+    }
+
+    @Test
+    @DisplayName("Test Corrupted Record Stops Replay")
+    public void testCorruptedRecord() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", 4));
+        wal.close();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(path, bytes);
+
+        assertTrue(replay(path).isEmpty());
+        assertEquals(0, Files.size(path));
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Sync Appends Share Flushes")
+    public void testGroupCommit() throws Exception {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    wal.append(Journal.ADD_TABLE, Journal.args("thread", thread, "seatsNumber", i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        WriteAheadLog.Stats stats = wal.stats();
+        wal.close();
+
+        assertEquals(threads * perThread, stats.records());
+        assertTrue(stats.syncs() <= stats.batches());
+        assertTrue(stats.batches() < stats.records());
+
+        List<WriteAheadLog.Entry> entries = replay(path);
+        assertEquals(threads * perThread, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).lsn());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Changes With One Key Are Logged And Applied In Prepare Order")
+    public void testLogOrderMatchesApplyOrder() throws Exception {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(1));
+        wal.open(entry -> {});
+
+        int threads = 8;
+        int perThread = 50;
+        int[] prepared = new int[1];
+        List<Integer> applied = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    wal.append(Journal.ADD_TABLE, "restaurant", () -> ++prepared[0],
+                            order -> Journal.args("order", order), applied::add);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        wal.close();
+
+        List<WriteAheadLog.Entry> entries = replay(path);
+        assertEquals(threads * perThread, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).args().get("order"));
+            assertEquals(i + 1, applied.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Change Is Applied Only After Its Record Is Durable")
+    public void testApplyAfterDurable() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        List<Integer> applied = new ArrayList<>();
+        wal.append(Journal.ADD_TABLE, "restaurant", () -> 1, order -> Journal.args("order", order), order -> {
+            assertDoesNotThrow(() -> assertEquals(1, replay(path).size()));
+            applied.add(order);
+        });
+        wal.close();
+
+        assertEquals(List.of(1), applied);
+    }
+
+    @Test
+    @DisplayName("Test Change Is Not Applied When Its Record Cannot Be Written")
+    public void testFailedWriteIsNotApplied() throws IOException {
+        Path full = Path.of("/dev/full");
+        assumeTrue(Files.isWritable(full));
+        WriteAheadLog wal = new WriteAheadLog(full, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        List<Integer> applied = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> wal.append(Journal.ADD_TABLE, "restaurant", () -> 1,
+                order -> Journal.args("order", order), applied::add));
+        assertThrows(IllegalStateException.class, () -> wal.append(Journal.ADD_TABLE, "restaurant", () -> 2,
+                order -> Journal.args("order", order), applied::add));
+        wal.close();
+
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Rejected Change Is Not Logged")
+    public void testRejectedChangeIsNotLogged() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        assertNull(wal.append(Journal.SIGNUP, Journal.SIGNUP, () -> null, user -> Journal.args("username", "ali"),
+                user -> fail("rejected change was applied")));
+        wal.close();
+
+        assertTrue(replay(path).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Record That Cannot Be Replayed Fails Startup")
+    public void testReplayFailureFailsStartup() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        wal.append(Journal.CANCEL_RESERVATION, Journal.args("reservationNumber", 12345));
+        wal.close();
+
+        WriteAheadLog restarted = new WriteAheadLog(new Database(), path.toString(), "sync", Duration.ofMillis(10), "",
+                DataSize.ofMegabytes(64));
+        assertThrows(IllegalStateException.class, restarted::recover);
+        restarted.close();
+    }
+
+    private static Map<String, Object> signup(String username) {
+        return Journal.args("username", username, "password", "secret", "email", username + "@example.com",
+                "country", "Iran", "city", "Tehran", "role", "client");
+    }
+
+    @Test
+    @DisplayName("Test Checkpoint Writes A Snapshot And Empties The Log")
+    public void testCheckpoint() throws IOException {
+        Path seed = Files.createDirectories(dir.resolve("seed"));
+        Path snapshot = dir.resolve("mizdooni.snapshot");
+        Path path = dir.resolve("mizdooni.wal");
+
+        Database db = new Database(snapshot.toString(), seed.toString());
+        WriteAheadLog wal = new WriteAheadLog(db, path.toString(), "sync", Duration.ofMillis(10),
+                snapshot.toString(), DataSize.ofBytes(1));
+        wal.recover();
+        wal.append(Journal.SIGNUP, Journal.SIGNUP, () -> new User("checkpointed", "secret", "checkpointed@example.com",
+                new Address("Iran", "Tehran", null), User.Role.client), added -> signup("checkpointed"), db.users::add);
+        wal.close();
+
+        assertEquals(0, Files.size(path));
+        assertTrue(wal.stats().checkpoints() > 0);
+
+        Database restarted = new Database(snapshot.toString(), seed.toString());
+        assertEquals(1, restarted.getCheckpointLsn());
+        assertTrue(restarted.users.stream().anyMatch(u -> u.getUsername().equals("checkpointed")));
+
+        wal = new WriteAheadLog(restarted, path.toString(), "sync", Duration.ofMillis(10), snapshot.toString(),
+                DataSize.ofMegabytes(64));
+        wal.recover();
+        wal.append(Journal.CANCEL_RESERVATION, Journal.args("reservationNumber", 1));
+        wal.close();
+        assertEquals(0, Files.size(path));
+        assertEquals(2, new Database(snapshot.toString(), seed.toString()).getCheckpointLsn());
+    }
+
+    @Test
+    @DisplayName("Test Records Already In The Snapshot Are Not Replayed")
+    public void testReplaySkipsCheckpointedRecords() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        wal.append(Journal.SIGNUP, signup("first"));
+        wal.append(Journal.SIGNUP, signup("second"));
+        wal.close();
+
+        Database db = new Database("", dir.resolve("no-seed").toString());
+        db.setCheckpointLsn(1);
+        WriteAheadLog restarted = new WriteAheadLog(db, path.toString(), "sync", Duration.ofMillis(10), "",
+                DataSize.ofMegabytes(64));
+        restarted.recover();
+        restarted.close();
+
+        assertEquals(List.of("second"), db.users.stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    @DisplayName("Test Async Appends Are Flushed On Close")
+    public void testAsyncFlushOnClose() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.ASYNC, Duration.ofSeconds(10));
+        wal.open(entry -> {});
+        for (int i = 0; i < 10; i++) {
+            wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", i));
+        }
+        wal.close();
+
+        assertEquals(10, replay(path).size());
+        assertThrows(IllegalStateException.class,
+                () -> wal.append(Journal.ADD_TABLE, Journal.args("seatsNumber", 1)));
+    }
+
+    @Test
+    @DisplayName("Test Consecutive Restaurant Records Are Replayed As One Batch")
+    public void testRestaurantReplayIsBatched() throws IOException {
+        Path path = dir.resolve("mizdooni.wal");
+        WriteAheadLog wal = new WriteAheadLog(path, WriteAheadLog.Durability.SYNC, Duration.ofMillis(10));
+        wal.open(entry -> {});
+        wal.append(Journal.SIGNUP, Journal.args("username", "owner", "password", "secret", "email",
+                "owner@example.com", "country", "Iran", "city", "Tehran", "role", "manager"));
+        for (int i = 0; i < 3; i++) {
+            wal.append(Journal.ADD_RESTAURANT, Journal.args("name", "Replayed " + i, "managerUsername", "owner",
+                    "type", "Iranian", "startTime", "08:00", "endTime", "22:00", "description", "replayed",
+                    "country", "Iran", "city", "Tehran", "street", "Enghelab", "image", "image"));
+        }
+        wal.append(Journal.ADD_TABLE, Journal.args("restaurantName", "Replayed 2", "tableNumber", 1,
+                "seatsNumber", 4));
+        wal.close();
+
+        Database db = new Database("", dir.resolve("no-seed").toString());
+        long version = db.getRestaurantsVersion();
+        WriteAheadLog restarted = new WriteAheadLog(db, path.toString(), "sync", Duration.ofMillis(10), "",
+                DataSize.ofMegabytes(64));
+        restarted.recover();
+        restarted.close();
+
+        assertEquals(version + 1, db.getRestaurantsVersion());
+        assertEquals(3, db.getCatalog().restaurants().size());
+        assertEquals(1, db.getCatalog().restaurants().getLast().getTables().size());
+        assertEquals("owner", db.getCatalog().restaurants().getFirst().getManager().getUsername());
+    }
+
+    @Test
+    @DisplayName("Test Writes During Checkpoints Survive A Restart")
+    public void testWritesDuringCheckpoints() throws Exception {
+        Path seed = Files.createDirectories(dir.resolve("seed"));
+        Path snapshot = dir.resolve("mizdooni.snapshot");
+        Path path = dir.resolve("mizdooni.wal");
+
+        Database db = new Database(snapshot.toString(), seed.toString());
+        WriteAheadLog wal = new WriteAheadLog(db, path.toString(), "sync", Duration.ofMillis(1),
+                snapshot.toString(), DataSize.ofBytes(512));
+        wal.recover();
+
+        int threads = 4;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    String username = "user" + thread + "x" + i;
+                    wal.append(Journal.SIGNUP, username, () -> new User(username, "secret",
+                                    username + "@example.com", new Address("Iran", "Tehran", null), User.Role.client),
+                            added -> signup(username), added -> {
+                                synchronized (db.users) {
+                                    db.users.add(added);
+                                }
+                            });
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        WriteAheadLog.Stats stats = wal.stats();
+        wal.close();
+        assertTrue(stats.checkpoints() > 0);
+
+        Database restarted = new Database(snapshot.toString(), seed.toString());
+        WriteAheadLog reopened = new WriteAheadLog(restarted, path.toString(), "sync", Duration.ofMillis(10),
+                snapshot.toString(), DataSize.ofMegabytes(64));
+        reopened.recover();
+        reopened.close();
+
+        assertEquals(threads * perThread, restarted.users.size());
+        assertEquals(threads * perThread, restarted.users.stream().map(User::getUsername).distinct().count());
+    }
+}
@@ -0,0 +1,78 @@
+package mizdooni.filters;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogFilterTest {
+    @TempDir
+    Path dir;
+
+    private AccessLog accessLog;
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        accessLog = new AccessLog(dir.resolve("access.log").toString(), 1.0, 16, Duration.ofMillis(10));
+        filter = new AccessLogFilter(accessLog);
+    }
+
+    @Test
+    @DisplayName("Test Synchronous Request Is Recorded When The Chain Returns")
+    public void testSynchronousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/restaurants");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+
+        assertEquals(1, accessLog.stats().recorded());
+    }
+
+    @Test
+    @DisplayName("Test Async Request Is Recorded When It Completes")
+    public void testAsyncRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/restaurants/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        assertEquals(0, accessLog.stats().recorded());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(1, accessLog.stats().recorded());
+    }
+
+    @Test
+    @DisplayName("Test Failed Async Request Is Recorded Once As A Server Error")
+    public void testAsyncError() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/restaurants/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        MockAsyncContext context = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IllegalStateException()));
+        }
+        context.complete();
+
+        accessLog.open();
+        accessLog.close();
+        List<String> lines = Files.readAllLines(dir.resolve("access.log"));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains(" GET     500 "), lines.get(0));
+    }
+}
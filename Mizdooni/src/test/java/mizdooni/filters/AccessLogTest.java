@@ -0,0 +1,73 @@
+package mizdooni.filters;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Test Records Are Written With A Fixed Layout")
+    public void testFixedLayout() throws Exception {
+        Path file = dir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(file.toString(), 1.0, 16, Duration.ofMillis(10));
+        accessLog.open();
+        assertTrue(accessLog.record("GET", "/api/restaurants", "page=1", 200, 1_500_000));
+        assertTrue(accessLog.record("POST", "/api/reserves/1", null, 400, 250_000));
+        assertTrue(accessLog.record("GET", "/api/restaurants/a b\n", null, 404, 0));
+        accessLog.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z " +
+                "GET     200      1500us /api/restaurants\\?page=1"), lines.get(0));
+        assertTrue(lines.get(1).endsWith(" POST    400       250us /api/reserves/1"), lines.get(1));
+        assertTrue(lines.get(2).endsWith(" /api/restaurants/a?b?"), lines.get(2));
+        assertEquals(lines.get(0).indexOf(" /api"), lines.get(1).indexOf(" /api"));
+
+        AccessLog.Stats stats = accessLog.stats();
+        assertEquals(3, stats.recorded());
+        assertEquals(3, stats.written());
+        assertEquals(0, stats.dropped());
+    }
+
+    @Test
+    @DisplayName("Test Full Buffer Drops Records Instead Of Blocking")
+    public void testDropsWhenFull() throws Exception {
+        Path file = dir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(file.toString(), 1.0, 4, Duration.ofMillis(10));
+        for (int i = 0; i < 10; i++) {
+            accessLog.record("GET", "/api/restaurants/" + i, null, 200, 1000);
+        }
+        assertEquals(4, accessLog.stats().recorded());
+        assertEquals(6, accessLog.stats().dropped());
+
+        accessLog.open();
+        accessLog.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(3).endsWith("/api/restaurants/3"));
+    }
+
+    @Test
+    @DisplayName("Test Sampling Keeps Server Errors")
+    public void testSampling() throws Exception {
+        AccessLog accessLog = new AccessLog(dir.resolve("access.log").toString(), 0.0, 16, Duration.ofMillis(10));
+        assertFalse(accessLog.record("GET", "/api/restaurants", null, 200, 1000));
+        assertFalse(accessLog.record("GET", "/api/restaurants", null, 404, 1000));
+        assertTrue(accessLog.record("GET", "/api/restaurants", null, 503, 1000));
+
+        AccessLog.Stats stats = accessLog.stats();
+        assertEquals(1, stats.recorded());
+        assertEquals(2, stats.sampledOut());
+    }
+}
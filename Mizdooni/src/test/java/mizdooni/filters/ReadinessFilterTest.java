@@ -0,0 +1,74 @@
+package mizdooni.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadinessFilterTest {
+    private ApplicationAvailabilityBean availability;
+    private ReadinessFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        availability = new ApplicationAvailabilityBean();
+        filter = new ReadinessFilter(availability, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private MockHttpServletResponse perform(String path, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void publish(ReadinessState state) {
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, state));
+    }
+
+    @Test
+    @DisplayName("Test Routes Are Refused While Loading")
+    public void testRefusedWhileLoading() throws Exception {
+        publish(ReadinessState.REFUSING_TRAFFIC);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform("/restaurants", chain);
+
+        assertEquals(503, response.getStatus());
+        assertNull(chain.getRequest());
+        assertTrue(response.getContentAsString().contains("application is not ready"));
+    }
+
+    @Test
+    @DisplayName("Test Readiness Route Is Served While Loading")
+    public void testReadyRouteWhileLoading() throws Exception {
+        publish(ReadinessState.REFUSING_TRAFFIC);
+        MockFilterChain chain = new MockFilterChain();
+
+        perform("/ready", chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Test Routes Are Served Once Ready")
+    public void testServedOnceReady() throws Exception {
+        publish(ReadinessState.ACCEPTING_TRAFFIC);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = perform("/restaurants", chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
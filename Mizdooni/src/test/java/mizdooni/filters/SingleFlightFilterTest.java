@@ -0,0 +1,92 @@
+package mizdooni.filters;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightFilterTest {
+    private static MockHttpServletRequest request(String method, String uri, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setQueryString(query);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Identical Requests Share One Execution")
+    public void testCoalescing() throws Exception {
+        SingleFlightFilter filter = new SingleFlightFilter();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (req, res) -> {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"page\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        int followers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i <= followers; i++) {
+            responses.add(executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("GET", "/api/restaurants", "page=1&sort=rating"), response, chain);
+                return response;
+            }));
+        }
+        while (filter.stats().inFlight() == 0 || executions.get() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<MockHttpServletResponse> future : responses) {
+            MockHttpServletResponse response = future.get();
+            assertEquals(200, response.getStatus());
+            assertEquals("application/json", response.getContentType());
+            assertEquals("{\"page\":1}", response.getContentAsString());
+        }
+        executor.shutdown();
+
+        SingleFlightFilter.Stats stats = filter.stats();
+        assertEquals(executions.get(), stats.executed());
+        assertEquals(followers + 1, stats.executed() + stats.coalesced());
+        assertTrue(stats.coalesced() > 0);
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    @DisplayName("Test Different Queries And Writes Are Not Coalesced")
+    public void testNotCoalesced() throws Exception {
+        SingleFlightFilter filter = new SingleFlightFilter();
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (req, res) -> executions.incrementAndGet();
+
+        filter.doFilter(request("GET", "/api/restaurants", "page=1"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("GET", "/api/restaurants", "page=1"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("GET", "/api/restaurants", "page=2"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/restaurants", null), new MockHttpServletResponse(), chain);
+
+        assertEquals(4, executions.get());
+        assertEquals(0, filter.stats().coalesced());
+        assertEquals(3, filter.stats().executed());
+    }
+}
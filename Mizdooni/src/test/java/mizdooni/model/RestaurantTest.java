@@ -182,4 +182,75 @@ public class RestaurantTest {
         assertEquals(4, restaurant.getStarCount());
     }
 
+    @Test
+    @DisplayName("check average rating after replacing user review")
+    public void testAverageRatingAfterReplacingUserReview(){
+        Rating rating1 = new Rating(){{food = 4; ambiance = 4.2; service = 3.7; overall= 4.1;}};
+        Rating rating2 = new Rating(){{food = 2; ambiance = 3; service = 1; overall= 2;}};
+        Rating rating3 = new Rating(){{food = 5; ambiance = 5; service = 5; overall= 5;}};
+        Review review1 = new Review(user1, rating1, "This restaurant was perfect.", LocalDateTime.now());
+        Review review2 = new Review(user2, rating2, "This restaurant was not perfect.", LocalDateTime.now());
+        Review review3 = new Review(user1, rating3, "This restaurant was even better.", LocalDateTime.now());
+
+        restaurant.addReview(review1);
+        restaurant.addReview(review2);
+        restaurant.addReview(review3);
+
+        Rating averageRating = restaurant.getAverageRating();
+        assertEquals(3.5, averageRating.food, 1e-9);
+        assertEquals(4, averageRating.ambiance, 1e-9);
+        assertEquals(3, averageRating.service, 1e-9);
+        assertEquals(3.5, averageRating.overall, 1e-9);
+        assertEquals(4, restaurant.getStarCount());
+    }
+
+    @Test
+    @DisplayName("check average rating of restaurant without reviews")
+    public void testAverageRatingWithoutReviews(){
+        Rating averageRating = restaurant.getAverageRating();
+        assertEquals(0, averageRating.food);
+        assertEquals(0, averageRating.overall);
+        assertEquals(0, restaurant.getStarCount());
+    }
+
+    @Test
+    @DisplayName("check average rating returned to callers cannot change the restaurant")
+    public void testAverageRatingIsCopied(){
+        Rating rating = new Rating(){{food = 4; ambiance = 4; service = 4; overall= 4;}};
+        restaurant.addReview(new Review(user1, rating, "Good.", LocalDateTime.now()));
+
+        restaurant.getAverageRating().overall = 1;
+        assertEquals(4, restaurant.getAverageRating().overall);
+        assertEquals(4, restaurant.getAverageOverall());
+        assertEquals(4, restaurant.getStarCount());
+    }
+
+    @Test
+    @DisplayName("check concurrent reviews on one restaurant are all counted")
+    public void testConcurrentReviews() throws InterruptedException {
+        int threads = 8;
+        int reviewsPerThread = 200;
+        ArrayList<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < reviewsPerThread; i++) {
+                    User user = new User("user" + thread + "-" + i, "password", "user@example.com", address,
+                            User.Role.client);
+                    Rating rating = new Rating(){{food = 2; ambiance = 2; service = 2; overall= 2;}};
+                    restaurant.addReview(new Review(user, rating, "Fine.", LocalDateTime.now()));
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(threads * reviewsPerThread, restaurant.getReviews().size());
+        assertEquals(2, restaurant.getAverageRating().overall, 1e-9);
+    }
+
 }
\ No newline at end of file
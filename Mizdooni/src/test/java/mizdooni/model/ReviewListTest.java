@@ -0,0 +1,132 @@
+package mizdooni.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewListTest {
+    private ReviewList reviews;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        reviews = new ReviewList();
+        users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            users.add(new User("user" + i, "pass", "user" + i + "@example.com", null, User.Role.client));
+        }
+    }
+
+    private Review review(User user) {
+        return new Review(user, new Rating(), "comment", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test Reviews Keep Insertion Order")
+    void testReviewsKeepInsertionOrder() {
+        Review first = review(users.get(0));
+        Review second = review(users.get(1));
+
+        assertNull(reviews.put(first));
+        assertNull(reviews.put(second));
+
+        assertEquals(List.of(first, second), reviews);
+        assertEquals(second, reviews.getByUser(users.get(1)));
+    }
+
+    @Test
+    @DisplayName("Test Replacing Review Moves It to the End")
+    void testReplacingReviewMovesItToTheEnd() {
+        Review first = review(users.get(0));
+        Review second = review(users.get(1));
+        Review updated = review(users.get(0));
+        reviews.put(first);
+        reviews.put(second);
+
+        assertEquals(first, reviews.put(updated));
+
+        assertEquals(List.of(second, updated), reviews);
+        assertEquals(updated, reviews.getByUser(users.get(0)));
+    }
+
+    @Test
+    @DisplayName("Test Positional Access Matches Reference List Across Rebuilds")
+    void testPositionalAccessMatchesReferenceList() {
+        List<Review> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            User user = users.get(random.nextInt(users.size()));
+            Review review = review(user);
+            expected.removeIf(r -> r.getUser() == user);
+            expected.add(review);
+            reviews.put(review);
+        }
+
+        assertEquals(expected.size(), reviews.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), reviews.get(i));
+        }
+        assertEquals(expected, new ArrayList<>(reviews));
+        assertEquals(expected.subList(5, 10), reviews.subList(5, 10));
+    }
+
+    @Test
+    @DisplayName("Test Out of Range Index")
+    void testOutOfRangeIndex() {
+        reviews.put(review(users.get(0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> reviews.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> reviews.get(-1));
+    }
+
+    @Test
+    @DisplayName("Test Cursor Pages Stay Stable When Reviews Are Replaced")
+    void testCursorPagesStayStableWhenReviewsAreReplaced() {
+        for (int i = 0; i < 10; i++) {
+            reviews.put(review(users.get(i)));
+        }
+        ReviewList.Page first = reviews.after(0, 4);
+        assertEquals(reviews.subList(0, 4), first.reviews());
+        assertTrue(first.hasNext());
+
+        Review moved = review(users.get(1));
+        reviews.put(moved);
+        List<Review> rest = new ArrayList<>();
+        ReviewList.Page page = first;
+        while (page.hasNext()) {
+            page = reviews.after(page.lastSequence(), 4);
+            rest.addAll(page.reviews());
+        }
+
+        List<Review> expected = new ArrayList<>(reviews.subList(3, 9));
+        expected.add(moved);
+        assertEquals(expected, rest);
+    }
+
+    @Test
+    @DisplayName("Test Iterator Sees The Reviews At Creation Across Rebuilds")
+    void testIteratorIsASnapshot() {
+        List<Review> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Review review = review(users.get(i));
+            reviews.put(review);
+            expected.add(review);
+        }
+
+        Iterator<Review> iterator = reviews.iterator();
+        for (int i = 0; i < 20; i++) {
+            reviews.put(review(users.get(i % 5)));
+        }
+        List<Review> iterated = new ArrayList<>();
+        iterator.forEachRemaining(iterated::add);
+
+        assertEquals(expected, iterated);
+    }
+}
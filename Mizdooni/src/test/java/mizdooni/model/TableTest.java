@@ -4,8 +4,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TableTest {
     private Restaurant restaurant;
@@ -38,6 +45,22 @@ public class TableTest {
         assertEquals(reservation1, table.getReservations().getFirst());
     }
 
+    @Test
+    @DisplayName("Test Version Increases On Each Mutation")
+    public void testVersionIncreasesOnMutation() {
+        long initial = table.getVersion();
+        table.addReservation(reservation1);
+        assertEquals(initial + 1, table.getVersion());
+        assertTrue(table.reserve(reservation2));
+        assertEquals(initial + 2, table.getVersion());
+        assertFalse(table.reserve(reservation2));
+        assertEquals(initial + 2, table.getVersion());
+        assertTrue(table.cancel(reservation2));
+        assertEquals(initial + 3, table.getVersion());
+        assertFalse(table.cancel(reservation2));
+        assertEquals(initial + 3, table.getVersion());
+    }
+
     @Test
     @DisplayName("Test Add Multiple Reservations")
     public void testAddMultipleReservations(){
@@ -61,4 +84,135 @@ public class TableTest {
             reservation1.cancel();
         assertEquals(expected, table.isReserved(reservation1.getDateTime().plusDays(offset)));
     }
+
+    @Test
+    @DisplayName("Test Reservations Between Dates Come From Date Index")
+    public void testReservationsBetweenDates(){
+        LocalDateTime base = LocalDateTime.of(2024, 5, 10, 12, 0);
+        Reservation early = new Reservation(user1, restaurant, table, base.minusDays(3));
+        Reservation middle = new Reservation(user2, restaurant, table, base);
+        Reservation late = new Reservation(user1, restaurant, table, base.plusDays(3));
+        table.addReservation(late);
+        table.addReservation(early);
+        table.addReservation(middle);
+
+        List<Reservation> all = new ArrayList<>();
+        table.getReservations(null, null).forEach(all::add);
+        List<Reservation> bounded = new ArrayList<>();
+        table.getReservations(base.toLocalDate(), base.toLocalDate().plusDays(3)).forEach(bounded::add);
+
+        assertEquals(List.of(early, middle, late), all);
+        assertEquals(List.of(middle, late), bounded);
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getReservations(base.toLocalDate(), base.toLocalDate().minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Test Occupancy Uses Date and Slot Partitions")
+    public void testOccupancyUsesDateAndSlotPartitions(){
+        LocalDateTime slot = LocalDateTime.of(2024, 5, 10, 18, 0);
+        Reservation cancelled = new Reservation(user1, restaurant, table, slot);
+        Reservation other = new Reservation(user2, restaurant, table, slot.plusHours(1));
+        table.addReservation(other);
+        table.addReservation(cancelled);
+        cancelled.cancel();
+
+        assertFalse(table.isReserved(slot));
+        assertTrue(table.isReserved(slot.plusHours(1)));
+        assertFalse(table.isReserved(slot.plusDays(1)));
+
+        Reservation rebooked = new Reservation(user2, restaurant, table, slot);
+        table.addReservation(rebooked);
+        assertTrue(table.isReserved(slot));
+        assertEquals(List.of(cancelled, rebooked, other), table.getReservations(slot.toLocalDate()));
+        assertEquals(List.of(), table.getReservations(slot.toLocalDate().minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Reserve Claims a Slot Once")
+    public void testConcurrentReserveClaimsSlotOnce() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2024, 5, 10, 18, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            results.add(executor.submit(() -> table.reserve(new Reservation(user1, restaurant, table, slot))));
+        }
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            reserved += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, reserved);
+        assertEquals(1, table.getReservations().size());
+    }
+
+    @Test
+    @DisplayName("Test Cancel Frees the Slot Once")
+    public void testCancelFreesTheSlotOnce() {
+        LocalDateTime slot = LocalDateTime.of(2024, 5, 10, 18, 0);
+        Reservation first = new Reservation(user1, restaurant, table, slot);
+        assertTrue(table.reserve(first));
+        assertFalse(table.reserve(new Reservation(user2, restaurant, table, slot)));
+
+        assertTrue(table.cancel(first));
+        assertFalse(table.cancel(first));
+        assertFalse(table.isReserved(slot));
+        assertTrue(table.reserve(new Reservation(user2, restaurant, table, slot)));
+    }
+
+    @Test
+    @DisplayName("Test Reservation Numbers Are Unique")
+    public void testReservationNumbersAreUnique() {
+        assertNotEquals(reservation1.getReservationNumber(), reservation2.getReservationNumber());
+        assertTrue(reservation2.getReservationNumber() > reservation1.getReservationNumber());
+    }
+
+    @Test
+    @DisplayName("Test Occupancy Tracks Active Reservations Per Day")
+    public void testOccupancy() {
+        LocalDateTime lunch = LocalDateTime.of(2024, 5, 10, 13, 0);
+        LocalDateTime dinner = LocalDateTime.of(2024, 5, 10, 20, 0);
+        Reservation first = new Reservation(user1, restaurant, table, lunch);
+        assertTrue(table.reserve(first));
+        assertTrue(table.reserve(new Reservation(user2, restaurant, table, dinner)));
+        table.addReservation(new Reservation(user2, restaurant, table, dinner.plusDays(2)));
+
+        NavigableMap<LocalDate, Integer> occupancy = table.getOccupancy(lunch.toLocalDate(), lunch.toLocalDate().plusDays(2));
+        assertEquals(2, occupancy.size());
+        assertEquals(1 << 13 | 1 << 20, occupancy.get(lunch.toLocalDate()));
+        assertEquals(1 << 20, occupancy.get(dinner.toLocalDate().plusDays(2)));
+
+        assertTrue(table.cancel(first));
+        assertEquals(1 << 20, table.getOccupancy(lunch.toLocalDate(), lunch.toLocalDate()).get(lunch.toLocalDate()));
+    }
+
+    @Test
+    @DisplayName("Test Reservations Are Listed While Others Reserve")
+    public void testListingDuringReserves() throws Exception {
+        LocalDateTime start = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0).plusDays(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    table.reserve(new Reservation(user1, restaurant, table, start.plusHours(i)));
+                }
+            });
+            while (!writer.isDone()) {
+                List<Reservation> listed = table.getReservations();
+                for (Reservation reservation : listed) {
+                    assertNotNull(reservation);
+                }
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Reservation> listed = table.getReservations();
+        assertEquals(2000, listed.size());
+        table.reserve(new Reservation(user2, restaurant, table, start.minusHours(1)));
+        assertEquals(2000, listed.size());
+        assertEquals(2001, table.getReservations().size());
+    }
 }
@@ -152,4 +152,22 @@ public class UserTest {
         Thread.sleep(100);
         Assertions.assertEquals(expected, clientUser.checkReserved(restaurant1));
     }
+
+    @Test
+    @DisplayName("Test Check Reserved Skips Cancelled and Other Restaurants")
+    public void testCheckReservedSkipsCancelledAndOtherRestaurants() {
+        Reservation cancelled = new Reservation(clientUser, restaurant1, table1, LocalDateTime.now().minusDays(3));
+        Reservation elsewhere = new Reservation(clientUser, restaurant2, table2, LocalDateTime.now().minusDays(2));
+        Reservation upcoming = new Reservation(clientUser, restaurant1, table1, LocalDateTime.now().plusDays(1));
+        clientUser.addReservation(upcoming);
+        clientUser.addReservation(cancelled);
+        clientUser.addReservation(elsewhere);
+        cancelled.cancel();
+
+        Assertions.assertFalse(clientUser.checkReserved(restaurant1));
+        Assertions.assertTrue(clientUser.checkReserved(restaurant2));
+
+        clientUser.addReservation(new Reservation(clientUser, restaurant1, table1, LocalDateTime.now().minusDays(1)));
+        Assertions.assertTrue(clientUser.checkReserved(restaurant1));
+    }
 }
@@ -0,0 +1,50 @@
+package mizdooni.response.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+public class DoublePrecisionSerializerBenchmark {
+    private static final int VALUES = 4 * 100_000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void benchmarkRatingSerialization() throws IOException {
+        Random random = new Random(42);
+        double[] values = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = random.nextInt(1, 6) * random.nextDouble();
+        }
+
+        JsonFactory factory = new JsonFactory();
+        DoublePrecisionSerializer serializer = new DoublePrecisionSerializer(1);
+        try (JsonGenerator gen = factory.createGenerator(OutputStream.nullOutputStream())) {
+            gen.writeStartArray();
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (double value : values) {
+                    gen.writeNumber(BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP));
+                }
+                long bigDecimalNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (double value : values) {
+                    serializer.serialize(value, gen, null);
+                }
+                long primitiveNanos = System.nanoTime() - start;
+
+                if (round == ROUNDS - 1) {
+                    System.out.printf("BigDecimal: %.1f ns/value, primitive: %.1f ns/value%n",
+                            (double) bigDecimalNanos / VALUES, (double) primitiveNanos / VALUES);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package mizdooni.response.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoublePrecisionSerializerTest {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private String serialize(double value, int precision) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = FACTORY.createGenerator(writer)) {
+            new DoublePrecisionSerializer(precision).serialize(value, gen, null);
+        }
+        return writer.toString();
+    }
+
+    private String expected(double value, int precision) {
+        return BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP).toString();
+    }
+
+    private void assertSameAsBigDecimal(double value, int precision) throws IOException {
+        assertEquals(expected(value, precision), serialize(value, precision), value + " @ " + precision);
+    }
+
+    @Test
+    @DisplayName("Test Half Up Ties")
+    void testHalfUpTies() throws IOException {
+        assertEquals("4.3", serialize(4.25, 1));
+        assertEquals("-4.3", serialize(-4.25, 1));
+        assertEquals("1.01", serialize(1.005, 2));
+        assertEquals("0.2", serialize(0.15, 1));
+        assertEquals("3", serialize(2.5, 0));
+    }
+
+    @Test
+    @DisplayName("Test Zero And Sign")
+    void testZeroAndSign() throws IOException {
+        assertEquals("0.0", serialize(0.0, 1));
+        assertEquals("0.0", serialize(-0.0, 1));
+        assertEquals("0.0", serialize(-0.04, 1));
+        assertEquals("-0.1", serialize(-0.05, 1));
+        assertEquals("0.000000", serialize(1e-9, 6));
+    }
+
+    @Test
+    @DisplayName("Test Fallback Matches Big Decimal")
+    void testFallbackMatchesBigDecimal() throws IOException {
+        assertSameAsBigDecimal(1e20, 1);
+        assertSameAsBigDecimal(-9.007199254740993e15, 2);
+        assertSameAsBigDecimal(1e-8, 8);
+        assertSameAsBigDecimal(123.456, -2);
+    }
+
+    @Test
+    @DisplayName("Test Random Decimals Match Big Decimal")
+    void testRandomDecimalsMatchBigDecimal() throws IOException {
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int precision = random.nextInt(7);
+            int decimals = precision + random.nextInt(3);
+            long unscaled = random.nextLong(2_000_000_000L) - 1_000_000_000L;
+            assertSameAsBigDecimal(BigDecimal.valueOf(unscaled, decimals).doubleValue(), precision);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Random Doubles Match Big Decimal")
+    void testRandomDoublesMatchBigDecimal() throws IOException {
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            int precision = random.nextInt(7);
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 6);
+            assertSameAsBigDecimal(value, precision);
+        }
+    }
+}
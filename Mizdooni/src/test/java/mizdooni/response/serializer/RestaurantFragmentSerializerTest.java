@@ -0,0 +1,75 @@
+package mizdooni.response.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mizdooni.config.ObjectMapperConfig;
+import mizdooni.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestaurantFragmentSerializerTest {
+    private ObjectMapper plain;
+    private ObjectMapper cached;
+    private User manager;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapperConfig config = new ObjectMapperConfig();
+        plain = new ObjectMapper().registerModule(config.javaTimeModule());
+        cached = new ObjectMapper().registerModule(config.javaTimeModule())
+                .registerModule(config.restaurantFragmentModule());
+
+        Address address = new Address("Iran", "Tehran", "Street");
+        manager = new User("manager", "password", "manager@mail.com", address, User.Role.manager);
+        restaurant = new Restaurant("Restaurant", manager, "Fast Food", LocalTime.of(8, 0), LocalTime.of(22, 0),
+                "Description", address, "image");
+    }
+
+    private Review review(User user, double value) {
+        Rating rating = new Rating();
+        rating.food = value;
+        rating.service = value;
+        rating.ambiance = value;
+        rating.overall = value;
+        return new Review(user, rating, "comment", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test Cached Output Matches Bean Serializer")
+    void testCachedOutputMatchesBeanSerializer() throws Exception {
+        restaurant.addTable(new Table(0, restaurant.getId(), 4));
+        restaurant.addReview(review(manager, 3));
+
+        assertArrayEquals(plain.writeValueAsBytes(restaurant), cached.writeValueAsBytes(restaurant));
+        assertArrayEquals(plain.writeValueAsBytes(restaurant), cached.writeValueAsBytes(restaurant));
+        assertEquals(plain.writeValueAsString(List.of(restaurant, restaurant)),
+                cached.writeValueAsString(List.of(restaurant, restaurant)));
+    }
+
+    @Test
+    @DisplayName("Test Review Invalidates Fragment")
+    void testReviewInvalidatesFragment() throws Exception {
+        String before = cached.writeValueAsString(restaurant);
+        restaurant.addReview(review(manager, 5));
+
+        assertNotEquals(before, cached.writeValueAsString(restaurant));
+        assertEquals(plain.writeValueAsString(restaurant), cached.writeValueAsString(restaurant));
+    }
+
+    @Test
+    @DisplayName("Test Table Invalidates Fragment")
+    void testTableInvalidatesFragment() throws Exception {
+        String before = cached.writeValueAsString(restaurant);
+        restaurant.addTable(new Table(0, restaurant.getId(), 6));
+
+        assertNotEquals(before, cached.writeValueAsString(restaurant));
+        assertEquals(plain.writeValueAsString(restaurant), cached.writeValueAsString(restaurant));
+    }
+}
@@ -0,0 +1,95 @@
+package mizdooni.service;
+
+import mizdooni.model.Address;
+import mizdooni.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionStoreTest {
+    private static final long TIMEOUT = 10_000;
+    private static final long TICK = 1_000;
+
+    private SessionStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        store = new SessionStore(TIMEOUT, TICK, false);
+        user = new User("user", "pass", "user@example.com", new Address("Iran", "Tehran", null), User.Role.client);
+    }
+
+    @Test
+    @DisplayName("Test Created Token Resolves to User")
+    void testCreatedTokenResolvesToUser() {
+        String token = store.create(user);
+
+        assertEquals(user, store.resolve(token));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Test Tokens Are Unique per Login")
+    void testTokensAreUniquePerLogin() {
+        String first = store.create(user);
+        String second = store.create(user);
+
+        assertNotEquals(first, second);
+        assertEquals(user, store.resolve(first));
+        assertEquals(user, store.resolve(second));
+    }
+
+    @Test
+    @DisplayName("Test Unknown Token")
+    void testUnknownToken() {
+        assertNull(store.resolve("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test Invalidated Token")
+    void testInvalidatedToken() {
+        String token = store.create(user);
+
+        assertTrue(store.invalidate(token));
+        assertFalse(store.invalidate(token));
+        assertNull(store.resolve(token));
+    }
+
+    @Test
+    @DisplayName("Test Idle Session Expires on Resolve")
+    void testIdleSessionExpiresOnResolve() {
+        long now = System.currentTimeMillis();
+        String token = store.create(user);
+
+        assertNull(store.resolve(token, now + TIMEOUT + TICK));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Test Timer Wheel Evicts Idle Sessions")
+    void testTimerWheelEvictsIdleSessions() {
+        long now = System.currentTimeMillis();
+        store.create(user);
+
+        store.advance(now + TIMEOUT / 2);
+        assertEquals(1, store.size());
+        store.advance(now + TIMEOUT + 2 * TICK);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Test Active Session Survives Timer Wheel")
+    void testActiveSessionSurvivesTimerWheel() {
+        long now = System.currentTimeMillis();
+        String token = store.create(user);
+
+        store.advance(now + TIMEOUT - TICK);
+        assertEquals(user, store.resolve(token, now + TIMEOUT - TICK));
+        store.advance(now + TIMEOUT + 2 * TICK);
+
+        assertEquals(1, store.size());
+        assertEquals(user, store.resolve(token, now + TIMEOUT + 2 * TICK));
+    }
+}
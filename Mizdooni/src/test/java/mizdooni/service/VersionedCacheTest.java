@@ -0,0 +1,115 @@
+package mizdooni.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedCacheTest {
+    private VersionedCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VersionedCache<>(2);
+    }
+
+    @Test
+    @DisplayName("Test Hit With Same Version")
+    void testHitWithSameVersion() {
+        cache.put("a", 1, "A");
+
+        assertEquals("A", cache.get("a", 1));
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Test Miss After Version Bump")
+    void testMissAfterVersionBump() {
+        cache.put("a", 1, "A");
+
+        assertNull(cache.get("a", 2));
+        assertEquals(0, cache.stats().size());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Test Older Version Does Not Overwrite Newer Entry")
+    void testOlderVersionDoesNotOverwriteNewerEntry() {
+        cache.put("a", 2, "new");
+        cache.put("a", 1, "old");
+
+        assertEquals("new", cache.get("a", 2));
+    }
+
+    @Test
+    @DisplayName("Test Least Recently Used Entry Is Evicted")
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.put("a", 1, "A");
+        cache.put("b", 1, "B");
+        cache.get("a", 1);
+        cache.put("c", 1, "C");
+
+        assertEquals("A", cache.get("a", 1));
+        assertNull(cache.get("b", 1));
+        assertEquals("C", cache.get("c", 1));
+    }
+
+    @Test
+    @DisplayName("Test Hit Rate")
+    void testHitRate() {
+        assertEquals(0, cache.stats().hitRate());
+        cache.put("a", 1, "A");
+        cache.get("a", 1);
+        cache.get("b", 1);
+
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    @DisplayName("Test Version Churn Keeps One Entry Per Key")
+    void testVersionChurn() {
+        for (int version = 0; version < 1000; version++) {
+            cache.put("a", version, "A" + version);
+            assertEquals("A" + version, cache.get("a", version));
+        }
+        cache.put("b", 1, "B");
+
+        assertEquals("A999", cache.get("a", 999));
+        assertEquals("B", cache.get("b", 1));
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Readers And Writers Stay Within Capacity")
+    void testConcurrentAccess() throws InterruptedException {
+        VersionedCache<Integer, Integer> shared = new VersionedCache<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int key = (i * 31 + seed) % 256;
+                    Integer value = shared.get(key, key % 3);
+                    if (value == null) {
+                        shared.put(key, key % 3, key);
+                    } else {
+                        assertEquals(key, value);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(shared.stats().size() <= 64);
+        assertEquals(8 * 20_000, shared.stats().hits() + shared.stats().misses());
+    }
+}